@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring;
+
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+
+import java.util.ArrayList;
+import java.util.List;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/*벤치마크 공용 주문 상품 - lineCount개의 상품을 종류를 섞어 quantity개씩 담는다*/
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    public static List<Product> createProducts(int lineCount, int quantity) {
+        ProductType[] types = ProductType.values();
+        List<Product> products = new ArrayList<>(lineCount * quantity);
+        for (int line = 0; line < lineCount; line++) {
+            Product product = Product.builder()
+                .productNumber(String.format("%03d", line + 1))
+                .type(types[line % types.length])
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .price(1000 * (line + 1))
+                .build();
+            for (int i = 0; i < quantity; i++) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+}
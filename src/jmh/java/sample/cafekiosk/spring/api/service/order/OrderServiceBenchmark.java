@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.OrderFixtures;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+
+/*주문 생성 시 재고 차감 대상 추출 + 상품별 수량 집계 (-prof gc로 op당 할당량 확인)
+ * 5라인 주문 기준 ProductQuantities 1개 + 배열 2개만 할당되어야 한다. (gc.alloc.rate.norm 일정)
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderServiceBenchmark {
+
+    @Param({"5", "50"})
+    private int lineCount;
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = OrderFixtures.createProducts(lineCount, 2);
+    }
+
+    @Benchmark
+    public ProductQuantities createStockQuantities() {
+        return OrderService.createStockQuantities(products);
+    }
+}
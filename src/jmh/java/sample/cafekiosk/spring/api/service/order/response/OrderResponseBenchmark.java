@@ -0,0 +1,46 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.OrderFixtures;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.product.Product;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderResponseBenchmark {
+
+    @Param({"5", "50"})
+    private int lineCount;
+
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = OrderFixtures.createProducts(lineCount, 2);
+        order = Order.create(products, LocalDateTime.of(2023, 3, 5, 10, 0));
+        product = products.get(0);
+    }
+
+    @Benchmark
+    public OrderResponse orderResponseOf() {
+        return OrderResponse.of(order);
+    }
+
+    @Benchmark
+    public ProductResponse productResponseOf() {
+        return ProductResponse.of(product);
+    }
+}
@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.OrderFixtures;
+import sample.cafekiosk.spring.domain.product.Product;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBenchmark {
+
+    @Param({"5", "50"})
+    private int lineCount;
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = OrderFixtures.createProducts(lineCount, 2);
+    }
+
+    @Benchmark
+    public int calculateTotalPrice() {
+        return Order.calculateTotalPrice(products);
+    }
+}
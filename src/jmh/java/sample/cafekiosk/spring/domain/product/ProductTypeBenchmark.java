@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductTypeBenchmark {
+
+    private final ProductType[] types = ProductType.values();
+
+    @Benchmark
+    public void containsStockType(Blackhole blackhole) {
+        for (ProductType type : types) {
+            blackhole.consume(ProductType.containsStockType(type));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.unit;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.unit.beverages.Americano;
+import sample.cafekiosk.unit.beverages.Latte;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CafeKioskBenchmark {
+
+    @Param({"5", "50"})
+    private int beverageCount;
+
+    private CafeKiosk cafeKiosk;
+
+    @Setup
+    public void setUp() {
+        cafeKiosk = new CafeKiosk();
+        for (int i = 0; i < beverageCount; i++) {
+            cafeKiosk.add(i % 2 == 0 ? new Americano() : new Latte());
+        }
+    }
+
+    @Benchmark
+    public int calculateTotalPrice() {
+        return cafeKiosk.calculateTotalPrice();
+    }
+}
@@ -1,5 +1,7 @@
 package sample.cafekiosk.spring.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
@@ -11,6 +13,10 @@ public class ApiResponse<T> {
     private String message;
     private T data;
 
+    //X-Debug-Timing 요청에만 담기는 단계별 처리 시간(ms)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Double> debug;
+
     public ApiResponse(HttpStatus status, String message, T data) {
         this.code = status.value();
         this.status = status;
@@ -18,6 +24,10 @@ public class ApiResponse<T> {
         this.data = data;
     }
 
+    public void setDebug(Map<String, Double> debug) {
+        this.debug = debug;
+    }
+
     public static <T> ApiResponse<T> of(HttpStatus status, String message, T data) {
         return new ApiResponse<>(status, message, data);
     }
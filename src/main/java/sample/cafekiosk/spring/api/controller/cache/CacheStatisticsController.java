@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.controller.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.cache.CacheStatisticsService;
+import sample.cafekiosk.spring.api.service.cache.response.CacheStatisticsResponse;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/api/v1/cache/statistics")
+    public ApiResponse<CacheStatisticsResponse> getStatistics() {
+        return ApiResponse.ok(cacheStatisticsService.getStatistics());
+    }
+
+    /*측정 구간을 새로 시작할 때*/
+    @DeleteMapping("/api/v1/cache/statistics")
+    public ApiResponse<Void> clearStatistics() {
+        cacheStatisticsService.clear();
+        return ApiResponse.ok(null);
+    }
+}
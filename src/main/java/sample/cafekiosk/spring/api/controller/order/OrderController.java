@@ -3,19 +3,37 @@ package sample.cafekiosk.spring.api.controller.order;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderHistoryRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.IdempotentOrderService;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderHistoryResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final IdempotentOrderService idempotentOrderService;
+    private final OrderStatusService orderStatusService;
+    private final OrderQueryService orderQueryService;
 
     /*
      *request -> servicerequest로
@@ -25,9 +43,43 @@ public class OrderController {
      *
      * */
     @PostMapping("/api/v1/orders/new")
-    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request) {
+    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request,
+        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         LocalDateTime registeredDateTime = LocalDateTime.now();
+        //키오스크 재시도는 같은 key로 -> 주문/재고 차감이 두번 일어나지 않는다
+        if (idempotencyKey != null) {
+            return ApiResponse.ok(idempotentOrderService.createOrder(idempotencyKey,
+                request.toServiceRequest(), registeredDateTime));
+        }
         return ApiResponse.ok(
             orderService.createOrder(request.toServiceRequest(), registeredDateTime));
     }
+
+    /*오프라인 키오스크가 쌓아둔 주문을 한번에 등록 - 주문별 성공/실패를 돌려준다*/
+    @PostMapping("/api/v1/orders/batch")
+    public ApiResponse<OrderBatchResponse> createOrders(@Valid @RequestBody OrderBatchCreateRequest request) {
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        return ApiResponse.ok(
+            orderService.createOrders(request.toServiceRequests(), registeredDateTime));
+    }
+
+    /*바리스타 화면에서 여러 주문을 한번에 접수/완료/취소*/
+    @PostMapping("/api/v1/orders/status")
+    public ApiResponse<OrderStatusChangeResponse> changeOrderStatus(
+        @Valid @RequestBody OrderStatusChangeRequest request) {
+        return ApiResponse.ok(orderStatusService.changeOrderStatus(request.getOrderIds(),
+            request.getOrderStatus(), LocalDateTime.now()));
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderQueryService.getOrder(orderId));
+    }
+
+    /*최신순 주문 내역 (cursorDateTime, cursorId = 이전 페이지의 nextCursorDateTime, nextCursorId)*/
+    @GetMapping("/api/v1/orders/history")
+    public ApiResponse<OrderHistoryResponse> getOrderHistory(@Valid @ModelAttribute OrderHistoryRequest request) {
+        return ApiResponse.ok(orderQueryService.getOrderHistory(request.getCursorDateTime(), request.getCursorId(),
+            request.getSizeOrDefault()));
+    }
 }
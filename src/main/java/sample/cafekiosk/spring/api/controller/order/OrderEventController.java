@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sample.cafekiosk.spring.api.service.order.event.OrderEventBus;
+
+@RestController
+@RequiredArgsConstructor
+public class OrderEventController {
+
+    private final OrderEventBus orderEventBus;
+
+    /*바리스타/픽업 화면용 주문 이벤트 스트림 (SSE)
+     * event: order -> 주문 생성/상태 변경, event: reset -> 놓친 이벤트가 있으니 목록을 다시 읽는다
+     * 재연결 시 브라우저가 보내는 Last-Event-ID 이후부터 이어서 받는다.
+     * */
+    @GetMapping(value = "/api/v1/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return orderEventBus.subscribe(lastEventId);
+    }
+}
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+
+@Getter
+@NoArgsConstructor
+public class OrderBatchCreateRequest {
+
+    @Valid
+    @NotEmpty(message = "주문 리스트는 필수입니다.")
+    @Size(max = 1000, message = "한번에 등록할 수 있는 주문은 1000개 이하입니다.")
+    private List<OrderCreateRequest> orders;
+
+    @Builder
+    public OrderBatchCreateRequest(List<OrderCreateRequest> orders) {
+        this.orders = orders;
+    }
+
+    public List<OrderCreateServiceRequest> toServiceRequests() {
+        return orders.stream()
+            .map(OrderCreateRequest::toServiceRequest)
+            .collect(Collectors.toList());
+    }
+}
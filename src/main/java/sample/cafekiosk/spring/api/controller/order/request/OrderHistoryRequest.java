@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/*query parameter 바인딩(@ModelAttribute)이라 setter를 둔다*/
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderHistoryRequest {
+
+    private static final int DEFAULT_SIZE = 20;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime cursorDateTime;
+    private Long cursorId;
+    @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+    @Max(value = 100, message = "페이지 크기는 100 이하여야 합니다.")
+    private Integer size;
+
+    @Builder
+    public OrderHistoryRequest(LocalDateTime cursorDateTime, Long cursorId, Integer size) {
+        this.cursorDateTime = cursorDateTime;
+        this.cursorId = cursorId;
+        this.size = size;
+    }
+
+    @AssertTrue(message = "cursor는 주문 시각과 id를 함께 보내야 합니다.")
+    public boolean isCursorValid() {
+        return (cursorDateTime == null) == (cursorId == null);
+    }
+
+    public int getSizeOrDefault() {
+        return size == null ? DEFAULT_SIZE : size;
+    }
+}
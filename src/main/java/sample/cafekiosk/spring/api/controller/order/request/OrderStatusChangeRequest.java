@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Getter
+@NoArgsConstructor
+public class OrderStatusChangeRequest {
+
+    @NotEmpty(message = "주문 id 리스트는 필수입니다.")
+    @Size(max = 500, message = "한번에 변경할 수 있는 주문은 500개 이하입니다.")
+    private List<Long> orderIds;
+
+    @NotNull(message = "변경할 주문 상태는 필수입니다.")
+    private OrderStatus orderStatus;
+
+    @Builder
+    public OrderStatusChangeRequest(List<Long> orderIds, OrderStatus orderStatus) {
+        this.orderIds = orderIds;
+        this.orderStatus = orderStatus;
+    }
+}
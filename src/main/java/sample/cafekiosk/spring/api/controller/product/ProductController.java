@@ -1,16 +1,22 @@
 package sample.cafekiosk.spring.api.controller.product;
 
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSearchRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSellingStatusChangeRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductCatalog;
 
 @RequiredArgsConstructor
 @RestController
@@ -24,8 +30,22 @@ public class ProductController {
         return ApiResponse.ok(productService.createProduct(request.toServiceRequest()));
     }
 
+    @PatchMapping("/api/v1/products/{productNumber}/selling-status")
+    public ApiResponse<ProductResponse> changeSellingStatus(@PathVariable String productNumber,
+        @Valid @RequestBody ProductSellingStatusChangeRequest request) {
+        return ApiResponse.ok(
+            productService.changeSellingStatus(productNumber, request.getSellingStatus()));
+    }
+
+    /*필터 + keyset 페이지 (cursor = 이전 페이지의 nextCursor)*/
+    @GetMapping("/api/v1/products")
+    public ApiResponse<ProductPageResponse> getProducts(@Valid @ModelAttribute ProductSearchRequest request) {
+        return ApiResponse.ok(productService.getProducts(request.toServiceRequest()));
+    }
+
+    /*캐시된 카탈로그는 미리 직렬화된 JSON 배열로 data에 그대로 쓰인다*/
     @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts() {
-        return ApiResponse.ok(productService.getSellingProducts());
+    public ApiResponse<SellingProductCatalog> getSellingProducts() {
+        return ApiResponse.ok(productService.getSellingProductCatalog());
     }
 }
@@ -0,0 +1,61 @@
+package sample.cafekiosk.spring.api.controller.product.dto.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/*query parameter 바인딩(@ModelAttribute)이라 setter를 둔다*/
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductSearchRequest {
+
+    private static final int DEFAULT_SIZE = 20;
+
+    private List<ProductType> types;
+    private List<ProductSellingStatus> sellingStatuses;
+    @PositiveOrZero(message = "최소 가격은 0 이상이어야 합니다.")
+    private Integer minPrice;
+    @PositiveOrZero(message = "최대 가격은 0 이상이어야 합니다.")
+    private Integer maxPrice;
+    private Long cursor;
+    @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+    @Max(value = 100, message = "페이지 크기는 100 이하여야 합니다.")
+    private Integer size;
+
+    @Builder
+    public ProductSearchRequest(List<ProductType> types, List<ProductSellingStatus> sellingStatuses,
+        Integer minPrice, Integer maxPrice, Long cursor, Integer size) {
+        this.types = types;
+        this.sellingStatuses = sellingStatuses;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.cursor = cursor;
+        this.size = size;
+    }
+
+    @AssertTrue(message = "최소 가격은 최대 가격보다 클 수 없습니다.")
+    public boolean isPriceRangeValid() {
+        return minPrice == null || maxPrice == null || minPrice <= maxPrice;
+    }
+
+    public ProductSearchServiceRequest toServiceRequest() {
+        return ProductSearchServiceRequest.builder()
+            .types(types)
+            .sellingStatuses(sellingStatuses)
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .cursor(cursor)
+            .size(size == null ? DEFAULT_SIZE : size)
+            .build();
+    }
+}
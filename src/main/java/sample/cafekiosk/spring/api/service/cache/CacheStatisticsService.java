@@ -0,0 +1,52 @@
+package sample.cafekiosk.spring.api.service.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import sample.cafekiosk.spring.api.service.cache.response.CacheStatisticsResponse;
+
+/*hibernate 통계(hibernate.generate_statistics)에서 2차 캐시 region별 hit/miss를 읽는다
+ * 주문당 DB 왕복이 줄었는지는 prepareStatementCount와 함께 본다.*/
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public CacheStatisticsResponse getStatistics() {
+        List<CacheStatisticsResponse.Region> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(this::toRegion)
+            .collect(Collectors.toList());
+
+        return CacheStatisticsResponse.builder()
+            .regions(regions)
+            .naturalIdCacheHitCount(statistics.getNaturalIdCacheHitCount())
+            .naturalIdCacheMissCount(statistics.getNaturalIdCacheMissCount())
+            .queryExecutionCount(statistics.getQueryExecutionCount())
+            .prepareStatementCount(statistics.getPrepareStatementCount())
+            .build();
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+
+    private CacheStatisticsResponse.Region toRegion(String regionName) {
+        //엔티티 region, natural id region 구분 없이 조회 (통계가 없으면 null)
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+        if (region == null) {
+            return new CacheStatisticsResponse.Region(regionName, 0, 0, 0);
+        }
+        return new CacheStatisticsResponse.Region(regionName, region.getHitCount(), region.getMissCount(),
+            region.getPutCount());
+    }
+}
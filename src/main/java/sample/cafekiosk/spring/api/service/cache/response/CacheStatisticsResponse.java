@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.api.service.cache.response;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/*hibernate 2차 캐시 / natural id 캐시 통계 (애플리케이션 시작 또는 마지막 초기화 이후 누적)*/
+@Getter
+public class CacheStatisticsResponse {
+
+    private final List<Region> regions;
+    private final long naturalIdCacheHitCount;
+    private final long naturalIdCacheMissCount;
+    private final long queryExecutionCount;
+    private final long prepareStatementCount;
+
+    @Builder
+    private CacheStatisticsResponse(List<Region> regions, long naturalIdCacheHitCount, long naturalIdCacheMissCount,
+        long queryExecutionCount, long prepareStatementCount) {
+        this.regions = regions;
+        this.naturalIdCacheHitCount = naturalIdCacheHitCount;
+        this.naturalIdCacheMissCount = naturalIdCacheMissCount;
+        this.queryExecutionCount = queryExecutionCount;
+        this.prepareStatementCount = prepareStatementCount;
+    }
+
+    @Getter
+    public static class Region {
+
+        private final String name;
+        private final long hitCount;
+        private final long missCount;
+        private final long putCount;
+
+        public Region(String name, long hitCount, long missCount, long putCount) {
+            this.name = name;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.putCount = putCount;
+        }
+
+        public double getHitRatio() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        }
+    }
+}
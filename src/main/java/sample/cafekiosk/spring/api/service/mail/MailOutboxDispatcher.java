@@ -0,0 +1,193 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.jfr.MailDispatchJfrEvent;
+
+/*mail outbox를 batch 단위로 가져와 제한된 worker pool에서 전송
+ * 실패하면 지수 backoff로 다음 시도 시각을 미루고, 최대 시도 횟수를 넘으면 FAILED로 남긴다.
+ * 선점(claim) 시 lease를 걸어 두므로 전송 도중 종료되어도 lease가 끝나면 다시 시도된다.
+ * 메일 서버 호출 시간은 cafekiosk.mail.send (timer, result)로, 호출 한번은 JFR 이벤트(cafekiosk.MailDispatch)로 기록한다.
+ * */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final MailSendClient mailSendClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+        MailSendHistoryRepository mailSendHistoryRepository,
+        MailSendClient mailSendClient,
+        PlatformTransactionManager transactionManager,
+        @Value("${cafekiosk.mail.outbox.batch-size:50}") int batchSize,
+        @Value("${cafekiosk.mail.outbox.workers:4}") int workers,
+        @Value("${cafekiosk.mail.outbox.max-attempts:5}") int maxAttempts,
+        @Value("${cafekiosk.mail.outbox.initial-backoff:1s}") Duration initialBackoff,
+        @Value("${cafekiosk.mail.outbox.max-backoff:5m}") Duration maxBackoff,
+        @Value("${cafekiosk.mail.outbox.lease:1m}") Duration lease,
+        @Value("${cafekiosk.mail.outbox.virtual-threads:false}") boolean virtualThreads,
+        MeterRegistry meterRegistry) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSendHistoryRepository = mailSendHistoryRepository;
+        this.mailSendClient = mailSendClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.executor = createExecutor(workers, batchSize, virtualThreads);
+        this.sentTimer = createSendTimer(meterRegistry, "success");
+        this.failedTimer = createSendTimer(meterRegistry, "failure");
+    }
+
+    /*now 기준으로 보낼 수 있는 메일을 한 batch 전송하고, 전송한 건수를 반환*/
+    public int dispatch(LocalDateTime now) {
+        List<MailOutbox> mails = claim(now);
+        if (mails.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(mails.size());
+        for (MailOutbox mail : mails) {
+            futures.add(CompletableFuture.runAsync(() -> send(mail, now), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return mails.size();
+    }
+
+    /*batch가 가득 차는 동안 이어서 전송*/
+    public void dispatchAll(LocalDateTime now) {
+        int dispatched;
+        do {
+            dispatched = dispatch(now);
+        } while (dispatched == batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor taskExecutor) {
+            taskExecutor.close();
+        }
+    }
+
+    private static Executor createExecutor(int workers, int queueCapacity, boolean virtualThreads) {
+        if (virtualThreads) {
+            //가상 스레드는 풀링하지 않고 메일마다 만들되, 동시에 전송하는 수만 workers로 제한한다
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("mail-outbox-");
+            taskExecutor.setVirtualThreads(true);
+            taskExecutor.setConcurrencyLimit(workers);
+            return taskExecutor;
+        }
+        //큐가 차면 dispatch를 호출한 스레드가 직접 전송 -> 자연스럽게 속도가 조절된다
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static Timer createSendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("cafekiosk.mail.send")
+            .description("Mail server call latency")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private List<MailOutbox> claim(LocalDateTime now) {
+        LocalDateTime leaseUntil = now.plus(lease);
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = mailOutboxRepository.findDispatchableIds(MailOutboxStatus.PENDING, now,
+                PageRequest.of(0, batchSize));
+            List<Long> claimedIds = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                if (mailOutboxRepository.claim(id, MailOutboxStatus.PENDING, now, leaseUntil) == 1) {
+                    claimedIds.add(id);
+                }
+            }
+            return claimedIds.isEmpty() ? List.of() : mailOutboxRepository.findAllById(claimedIds);
+        });
+    }
+
+    private void send(MailOutbox mail, LocalDateTime now) {
+        boolean sent;
+        MailDispatchJfrEvent event = new MailDispatchJfrEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        try {
+            sent = mailSendClient.sendEmail(mail.getFromEmail(), mail.getToEmail(), mail.getSubject(),
+                mail.getContent());
+        } catch (RuntimeException e) {
+            log.warn("메일 전송 실패 id={}, attempt={}", mail.getId(), mail.getAttemptCount(), e);
+            sent = false;
+        }
+        (sent ? sentTimer : failedTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        event.end();
+        if (event.shouldCommit()) {
+            event.mailId = mail.getId();
+            event.attempt = mail.getAttemptCount();
+            event.sent = sent;
+            event.commit();
+        }
+
+        boolean success = sent;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                MailOutbox outbox = mailOutboxRepository.findById(mail.getId()).orElseThrow();
+                if (success) {
+                    outbox.markSent();
+                    mailSendHistoryRepository.save(outbox.toHistory());
+                } else if (outbox.getAttemptCount() >= maxAttempts) {
+                    outbox.markFailed();
+                } else {
+                    outbox.retryAt(now.plus(backoff(outbox.getAttemptCount())));
+                }
+            });
+        } catch (RuntimeException e) {
+            //결과를 남기지 못해도 lease가 끝나면 다시 시도된다
+            log.error("메일 전송 결과 저장 실패 id={}", mail.getId(), e);
+        }
+    }
+
+    /*initialBackoff * 2^(attempt-1), 최대 maxBackoff*/
+    Duration backoff(int attemptCount) {
+        int shift = Math.min(Math.max(attemptCount - 1, 0), 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << shift);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
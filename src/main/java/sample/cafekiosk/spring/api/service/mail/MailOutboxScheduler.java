@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*mail outbox를 주기적으로 비운다*/
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "cafekiosk.mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class MailOutboxScheduler {
+
+    private final MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Scheduled(fixedDelayString = "${cafekiosk.mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        mailOutboxDispatcher.dispatchAll(LocalDateTime.now());
+    }
+}
@@ -1,30 +1,27 @@
 package sample.cafekiosk.spring.api.service.mail;
 
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import sample.cafekiosk.spring.client.mail.MailSendClient;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
 
 @Service
 @RequiredArgsConstructor
 public class MailService {
 
-    private final MailSendClient mailSendClient;
-    private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final MailOutboxRepository mailOutboxRepository;
 
-    public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
-        boolean result = mailSendClient.sendEmail(fromEmail, toEmail, subject, content);
-        if (result) {
-            mailSendHistoryRepository.save(MailSendHistory.builder()
-                .fromEmail(fromEmail)
-                .toEmail(toEmail)
-                .subject(subject)
-                .content(content)
-                .build()
-            );
-            return true;
-        }
-        return false;
+    /*outbox에 insert만 하고 outbox id를 바로 반환 -> 실제 전송과 이력(MailSendHistory) 저장은 MailOutboxDispatcher가 한다
+     * 전송 결과는 반환 시점에 알 수 없으므로, 필요하면 outbox id로 상태(MailOutboxStatus)를 조회한다.*/
+    public Long sendMail(String fromEmail, String toEmail, String subject, String content) {
+        return mailOutboxRepository.save(MailOutbox.builder()
+            .fromEmail(fromEmail)
+            .toEmail(toEmail)
+            .subject(subject)
+            .content(content)
+            .nextAttemptDateTime(LocalDateTime.now())
+            .build()
+        ).getId();
     }
 }
@@ -0,0 +1,191 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotency;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+
+/*Idempotency-Key가 붙은 주문 생성
+ * 같은 key의 재시도는 상품/재고를 다시 조회하지 않고 처음 만든 주문을 다시 읽어 돌려준다.
+ * 1. 메모리 캐시 (최근 key -> 주문 id, 크기 제한)
+ * 2. 같은 서버에서 처리 중인 같은 key -> 먼저 온 요청의 결과를 기다린다
+ * 3. dedupe 테이블 (key unique) -> 주문과 같은 트랜잭션에 저장되어, 다른 서버의 동시 재시도도 한건만 성공한다
+ * dedupe 정보는 ttl이 지나면 지워진다 (OrderIdempotencyCleanupScheduler).
+ * */
+@Service
+public class IdempotentOrderService {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderIdempotencyRepository orderIdempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+    private final Duration ttl;
+
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Queue<String> cachedKeys = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentOrderService(OrderService orderService, OrderRepository orderRepository,
+        OrderIdempotencyRepository orderIdempotencyRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${cafekiosk.idempotency.max-size:10000}") int maxSize,
+        @Value("${cafekiosk.idempotency.ttl:24h}") Duration ttl) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderIdempotencyRepository = orderIdempotencyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    public OrderResponse createOrder(String idempotencyKey, OrderCreateServiceRequest request,
+        LocalDateTime registeredDateTime) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key는 1자 이상 255자 이하여야 합니다.");
+        }
+        String requestHash = hash(request);
+
+        Entry cached = cache.get(idempotencyKey);
+        if (cached != null) {
+            return load(cached.orderIdFor(requestHash));
+        }
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (running != null) {
+            return load(await(running).orderIdFor(requestHash));
+        }
+
+        try {
+            Entry entry = findStored(idempotencyKey);
+            OrderResponse created = null;
+            if (entry == null) {
+                try {
+                    created = create(idempotencyKey, requestHash, request, registeredDateTime);
+                    entry = new Entry(requestHash, created.getId());
+                } catch (DataIntegrityViolationException e) {
+                    //다른 서버가 같은 key로 먼저 커밋 -> 이 주문(재고 차감 포함)은 롤백되고 먼저 만든 주문을 돌려준다
+                    entry = findStored(idempotencyKey);
+                    if (entry == null) {
+                        throw e;
+                    }
+                }
+            }
+            remember(idempotencyKey, entry);
+            mine.complete(entry);
+            return created != null ? created : load(entry.orderIdFor(requestHash));
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    /*ttl이 지난 dedupe 정보를 지운다 - 메모리 캐시에 남은 key는 크기 제한으로 밀려날 때까지 같은 주문을 돌려준다*/
+    public int deleteExpired(LocalDateTime now) {
+        return orderIdempotencyRepository.deleteAllCreatedBefore(now.minus(ttl));
+    }
+
+    private Entry findStored(String idempotencyKey) {
+        return orderIdempotencyRepository.findByIdempotencyKey(idempotencyKey)
+            .map(stored -> new Entry(stored.getRequestHash(), stored.getOrderId()))
+            .orElse(null);
+    }
+
+    private OrderResponse create(String idempotencyKey, String requestHash, OrderCreateServiceRequest request,
+        LocalDateTime registeredDateTime) {
+        return transactionTemplate.execute(status -> {
+            OrderResponse created = orderService.createOrder(request, registeredDateTime);
+            orderIdempotencyRepository.saveAndFlush(OrderIdempotency.builder()
+                .idempotencyKey(idempotencyKey)
+                .orderId(created.getId())
+                .requestHash(requestHash)
+                .build());
+            return created;
+        });
+    }
+
+    private OrderResponse load(Long orderId) {
+        return orderRepository.findWithOrderProductsById(orderId)
+            .map(OrderResponse::of)
+            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+    }
+
+    //오래된 key부터 밀어낸다 (FIFO)
+    private void remember(String idempotencyKey, Entry entry) {
+        if (cache.putIfAbsent(idempotencyKey, entry) != null) {
+            return;
+        }
+        cachedKeys.add(idempotencyKey);
+        while (cache.size() > maxSize) {
+            String eldest = cachedKeys.poll();
+            if (eldest == null) {
+                break;
+            }
+            cache.remove(eldest);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /*요청의 canonical 형태(상품번호 정렬)의 SHA-256 - 상품 순서만 다른 요청은 같은 요청으로 본다*/
+    private static String hash(OrderCreateServiceRequest request) {
+        String canonical = "productNumbers=" + request.getProductNumbers().stream()
+            .sorted()
+            .collect(Collectors.joining(","));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String requestHash;
+        private final Long orderId;
+
+        private Entry(String requestHash, Long orderId) {
+            this.requestHash = requestHash;
+            this.orderId = orderId;
+        }
+
+        private Long orderIdFor(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IllegalArgumentException("같은 Idempotency-Key로 다른 주문을 요청할 수 없습니다.");
+            }
+            return orderId;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.jfr.OrderCreationJfrEvent;
+
+/*주문 생성 하나를 JFR 이벤트(cafekiosk.OrderCreation)와 cafekiosk.order.create 타이머로 남긴다
+ * @Transactional 바깥에서 감싸므로 createOrder가 트랜잭션을 시작했다면 반환 시점에 커밋(insert flush)까지 끝나 있다.
+ * 이미 진행 중인 트랜잭션(IdempotentOrderService 등)에 참여했다면 커밋은 바깥에서 일어나므로,
+ * 그 트랜잭션이 끝날 때(afterCompletion) 커밋/롤백을 보고 남긴다. 예외로 끝나면 롤백된 주문이다.
+ * 재고 차감 결과는 안쪽의 StockDeductionJfrEvent로 따로 남는다.
+ * */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OrderCreationInstrumentation {
+
+    private final OrderMetrics orderMetrics;
+
+    @Around("execution(* sample.cafekiosk.spring.api.service.order.OrderService.createOrder(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        OrderCreationJfrEvent event = new OrderCreationJfrEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        if (joinPoint.getArgs()[0] instanceof OrderCreateServiceRequest request) {
+            event.lineCount = request.getProductNumbers().size();
+        }
+        boolean joinsTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            complete(event, startNanos, false);
+            throw e;
+        }
+
+        if (!joinsTransaction) {
+            complete(event, startNanos, true);
+            return result;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(event, startNanos, status == STATUS_COMMITTED);
+            }
+        });
+        return result;
+    }
+
+    private void complete(OrderCreationJfrEvent event, long startNanos, boolean committed) {
+        orderMetrics.recordCreation(System.nanoTime() - startNanos, committed);
+        event.outcome = committed ? OrderCreationJfrEvent.COMMITTED : OrderCreationJfrEvent.ROLLED_BACK;
+        event.commit();
+    }
+}
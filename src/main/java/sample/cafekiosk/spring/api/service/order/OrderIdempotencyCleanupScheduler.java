@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*ttl이 지난 Idempotency-Key dedupe 정보를 주기적으로 지운다*/
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "cafekiosk.idempotency.cleanup.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderIdempotencyCleanupScheduler {
+
+    private final IdempotentOrderService idempotentOrderService;
+
+    @Scheduled(fixedDelayString = "${cafekiosk.idempotency.cleanup.interval-ms:600000}")
+    public void deleteExpired() {
+        idempotentOrderService.deleteExpired(LocalDateTime.now());
+    }
+}
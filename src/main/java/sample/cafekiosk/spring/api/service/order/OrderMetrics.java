@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.timing.PhaseTimer;
+
+/*주문 생성 메트릭
+ * cafekiosk.order.create (timer, outcome) : 커밋/롤백까지 포함한 주문 생성 시간
+ * cafekiosk.order.create.phase (timer, phase, mode) : 상품 조회 / 재고 차감 / 주문 저장 / 응답 변환 / 커밋 단계별 시간
+ *   (단건 주문과 일괄 등록은 시간 분포가 달라 mode로 나눈다)
+ * cafekiosk.order.stock.rejected (counter, mode) : 재고 부족으로 거절된 주문 수
+ * 단계별 시간은 응답의 Server-Timing 헤더(PhaseTimer)에도 함께 더한다.
+ * 전체 시간은 트랜잭션 바깥의 OrderCreationInstrumentation이 기록한다.
+ * */
+@Component
+public class OrderMetrics {
+
+    public enum Phase {
+        FIND_PRODUCTS(PhaseTimer.Phase.PRODUCTS),
+        DEDUCT_STOCK(PhaseTimer.Phase.STOCK),
+        SAVE_ORDER(PhaseTimer.Phase.PERSIST),
+        MAPPING(PhaseTimer.Phase.MAPPING),
+        COMMIT(PhaseTimer.Phase.PERSIST);
+
+        private final PhaseTimer.Phase timingPhase;
+
+        Phase(PhaseTimer.Phase timingPhase) {
+            this.timingPhase = timingPhase;
+        }
+    }
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<Phase, Timer> batchPhaseTimers = new EnumMap<>(Phase.class);
+    private final Timer committedTimer;
+    private final Timer rolledBackTimer;
+    private final Counter singleRejectedCounter;
+    private final Counter batchRejectedCounter;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, createPhaseTimer(meterRegistry, phase, "single"));
+            batchPhaseTimers.put(phase, createPhaseTimer(meterRegistry, phase, "batch"));
+        }
+        this.committedTimer = createTimer(meterRegistry, "committed");
+        this.rolledBackTimer = createTimer(meterRegistry, "rolled_back");
+        this.singleRejectedCounter = createRejectedCounter(meterRegistry, "single");
+        this.batchRejectedCounter = createRejectedCounter(meterRegistry, "batch");
+    }
+
+    /*startNanos부터 지금까지를 phase 시간으로 기록하고, 다음 단계의 시작 시각(지금)을 반환*/
+    public long recordPhase(Phase phase, long startNanos) {
+        return recordPhase(phaseTimers, phase, startNanos);
+    }
+
+    /*일괄 등록(createOrders)의 단계 시간*/
+    public long recordBatchPhase(Phase phase, long startNanos) {
+        return recordPhase(batchPhaseTimers, phase, startNanos);
+    }
+
+    /*주문 저장(insert)은 커밋 시점에 flush되므로 지금부터 트랜잭션이 끝날 때까지를 커밋 단계로 기록한다*/
+    public void recordCommitPhase() {
+        recordCommitPhase(phaseTimers);
+    }
+
+    public void recordBatchCommitPhase() {
+        recordCommitPhase(batchPhaseTimers);
+    }
+
+    /*커밋 또는 롤백까지 포함한 주문 생성 전체 시간*/
+    public void recordCreation(long elapsedNanos, boolean committed) {
+        Timer timer = committed ? committedTimer : rolledBackTimer;
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementStockRejected() {
+        singleRejectedCounter.increment();
+    }
+
+    public void incrementBatchStockRejected(int count) {
+        batchRejectedCounter.increment(count);
+    }
+
+    private static long recordPhase(Map<Phase, Timer> timers, Phase phase, long startNanos) {
+        long now = PhaseTimer.record(phase.timingPhase, startNanos);
+        timers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    private static void recordCommitPhase(Map<Phase, Timer> timers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long commitStartNanos = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                recordPhase(timers, Phase.COMMIT, commitStartNanos);
+            }
+        });
+    }
+
+    private static Timer createPhaseTimer(MeterRegistry meterRegistry, Phase phase, String mode) {
+        return Timer.builder("cafekiosk.order.create.phase")
+            .description("Order creation latency by phase")
+            .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+            .tag("mode", mode)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Timer createTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("cafekiosk.order.create")
+            .description("Order creation latency including commit")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Counter createRejectedCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("cafekiosk.order.stock.rejected")
+            .description("Orders rejected for insufficient stock")
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+}
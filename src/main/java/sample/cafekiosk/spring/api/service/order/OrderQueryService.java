@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.response.OrderHistoryResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+
+/*주문 조회
+ * OrderResponse는 주문 상품과 상품을 모두 읽으므로, 주문 라인 수와 상관없이
+ * 주문 상세는 쿼리 1번, 주문 내역은 페이지당 쿼리 2번(id 목록 + fetch)으로 읽는다.
+ * */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class OrderQueryService {
+
+    private final OrderRepository orderRepository;
+
+    public OrderResponse getOrder(Long orderId) {
+        return orderRepository.findWithOrderProductsById(orderId)
+            .map(OrderResponse::of)
+            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+    }
+
+    /*cursor(이전 페이지 마지막 주문의 주문 시각, id)보다 오래된 주문을 최신순으로 size개*/
+    public OrderHistoryResponse getOrderHistory(LocalDateTime cursorDateTime, Long cursorId, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<Long> ids = cursorDateTime == null || cursorId == null
+            ? orderRepository.findLatestIds(pageRequest)
+            : orderRepository.findIdsBefore(cursorDateTime, cursorId, pageRequest);
+
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        if (ids.isEmpty()) {
+            return new OrderHistoryResponse(List.of(), null, null, false);
+        }
+
+        List<OrderResponse> orders = orderRepository.findAllWithOrderProductsByIdIn(ids).stream()
+            .map(OrderResponse::of)
+            .collect(Collectors.toList());
+        if (!hasNext) {
+            return new OrderHistoryResponse(orders, null, null, false);
+        }
+        OrderResponse last = orders.get(orders.size() - 1);
+        return new OrderHistoryResponse(orders, last.getRegisteredDateTime(), last.getId(), true);
+    }
+}
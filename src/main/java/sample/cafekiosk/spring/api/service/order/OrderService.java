@@ -1,21 +1,28 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.OrderMetrics.Phase;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.config.sql.SqlMonitored;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
-import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 /*오픈api크롤링, 상품 재고감소 동시성해결과 querydsl등 성능개선
  * 가장 가까운 위치의 지점을 보여준다?
@@ -27,71 +34,142 @@ public class OrderService {
 
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
-    private final StockRepository stockRepository;
+    private final StockDeductor stockDeductor;
+    private final OrderMetrics orderMetrics;
 
     /*재고감소->동시성
-     * lock*/
+     * 차감 방식은 설정한 재고 차감 전략(cafekiosk.stock.strategy)을 따른다.
+     * 트랜잭션이 롤백되면 차감한 재고도 함께 되돌아간다.*/
+    @SqlMonitored
+    @Transactional
     public OrderResponse createOrder(OrderCreateServiceRequest request,
         LocalDateTime registeredDateTime) {
-        List<String> productNumbers = request.getProductNumbers();
-        List<Product> products = findProductsBy(productNumbers);
+        long phaseStartNanos = System.nanoTime();
+        List<Product> products = findProductsBy(request.getProductNumbers());
+        phaseStartNanos = orderMetrics.recordPhase(Phase.FIND_PRODUCTS, phaseStartNanos);
 
         deductStockQuantities(products);
+        phaseStartNanos = orderMetrics.recordPhase(Phase.DEDUCT_STOCK, phaseStartNanos);
 
         //order
         Order order = Order.create(products, registeredDateTime);
         Order savedOrder = orderRepository.save(order);
-        return OrderResponse.of(savedOrder);
-    }
+        phaseStartNanos = orderMetrics.recordPhase(Phase.SAVE_ORDER, phaseStartNanos);
 
-    private void deductStockQuantities(List<Product> products) {
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
+        OrderResponse response = OrderResponse.of(savedOrder);
+        orderMetrics.recordPhase(Phase.MAPPING, phaseStartNanos);
+        orderMetrics.recordCommitPhase();
+        return response;
+    }
 
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+    /*오프라인 중 쌓인 주문을 한번에 등록
+     * 상품은 상품번호(natural id) multi-load 한번으로, 재고는 상품별로 한번씩만 차감하고, 주문은 한번의 JDBC batch로 저장한다.
+     * 존재하지 않는 상품이 있거나 재고가 부족한 주문만 실패로 돌려주고 나머지는 등록한다.
+     * */
+    @SqlMonitored
+    @Transactional
+    public OrderBatchResponse createOrders(List<OrderCreateServiceRequest> requests,
+        LocalDateTime registeredDateTime) {
+        long phaseStartNanos = System.nanoTime();
+        Map<String, Product> productMap = findProductMapBy(requests);
+        phaseStartNanos = orderMetrics.recordBatchPhase(Phase.FIND_PRODUCTS, phaseStartNanos);
+
+        OrderBatchResponse.Result[] results = new OrderBatchResponse.Result[requests.size()];
+        List<Integer> candidateIndexes = new ArrayList<>(requests.size());
+        List<List<Product>> candidateProducts = new ArrayList<>(requests.size());
+        List<ProductQuantities> candidateStockQuantities = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<Product> products = resolveProducts(requests.get(i).getProductNumbers(), productMap);
+            if (products == null) {
+                results[i] = OrderBatchResponse.Result.failure(i, "존재하지 않는 상품이 포함되어 있습니다.");
+                continue;
+            }
+            candidateIndexes.add(i);
+            candidateProducts.add(products);
+            candidateStockQuantities.add(createStockQuantities(products));
+        }
 
-        //재고 차감 시도
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
+        boolean[] admitted = stockDeductor.deductAll(candidateStockQuantities);
+        phaseStartNanos = orderMetrics.recordBatchPhase(Phase.DEDUCT_STOCK, phaseStartNanos);
 
-            if (stock.isQuantityLessThan(quantity)) {
-                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+        List<Order> orders = new ArrayList<>(candidateIndexes.size());
+        List<Integer> orderIndexes = new ArrayList<>(candidateIndexes.size());
+        for (int k = 0; k < admitted.length; k++) {
+            int index = candidateIndexes.get(k);
+            if (!admitted[k]) {
+                results[index] = OrderBatchResponse.Result.failure(index, "재고가 부족한 상품이 있습니다.");
+                continue;
             }
-            stock.deductQuantity(quantity);
+            orders.add(Order.create(candidateProducts.get(k), registeredDateTime));
+            orderIndexes.add(index);
+        }
+        if (orders.size() < admitted.length) {
+            orderMetrics.incrementBatchStockRejected(admitted.length - orders.size());
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        phaseStartNanos = orderMetrics.recordBatchPhase(Phase.SAVE_ORDER, phaseStartNanos);
+        for (int k = 0; k < savedOrders.size(); k++) {
+            int index = orderIndexes.get(k);
+            results[index] = OrderBatchResponse.Result.success(index, OrderResponse.of(savedOrders.get(k)));
         }
+        orderMetrics.recordBatchPhase(Phase.MAPPING, phaseStartNanos);
+        orderMetrics.recordBatchCommitPhase();
+        return new OrderBatchResponse(Arrays.asList(results));
     }
 
-    private List<Product> findProductsBy(List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
-        Map<String, Product> productMap = products.stream()
-            .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    private void deductStockQuantities(List<Product> products) {
+        ProductQuantities stockQuantities = createStockQuantities(products);
 
-        return productNumbers.stream()
-            .map(productMap::get).collect(
-                Collectors.toList());
+        //재고 차감 시도
+        try {
+            stockDeductor.deduct(stockQuantities);
+        } catch (IllegalArgumentException e) {
+            orderMetrics.incrementStockRejected();
+            throw e;
+        }
+    }
+
+    /*상품번호 순서대로 (중복 포함), 없는 상품번호 자리는 null*/
+    private List<Product> findProductsBy(List<String> productNumbers) {
+        return productRepository.findAllByProductNumbers(productNumbers);
     }
 
-    private static List<String> extractStockProductNumbers(List<Product> products) {
-        //재고 차감 체크가 필요한 상품들 filter
-        return products.stream()
-            .filter(product -> ProductType.containsStockType(product.getType()))
-            .map(Product::getProductNumber)
-            .collect(Collectors.toList());
+    private Map<String, Product> findProductMapBy(List<OrderCreateServiceRequest> requests) {
+        Set<String> productNumbers = new LinkedHashSet<>();
+        requests.forEach(request -> productNumbers.addAll(request.getProductNumbers()));
+
+        Map<String, Product> productMap = new HashMap<>(productNumbers.size() * 2);
+        for (Product product : productRepository.findAllByProductNumbers(new ArrayList<>(productNumbers))) {
+            if (product != null) {
+                productMap.put(product.getProductNumber(), product);
+            }
+        }
+        return productMap;
     }
 
-    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-        //재고 엔티티 조회
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
-        Map<String, Stock> stockMap = stocks.stream()
-            .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
-        return stockMap;
+    //하나라도 없는 상품번호가 있으면 null
+    private static List<Product> resolveProducts(List<String> productNumbers, Map<String, Product> productMap) {
+        List<Product> products = new ArrayList<>(productNumbers.size());
+        for (String productNumber : productNumbers) {
+            Product product = productMap.get(productNumber);
+            if (product == null) {
+                return null;
+            }
+            products.add(product);
+        }
+        return products;
     }
 
-    private static Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-        //상품별 counting
-        Map<String, Long> productCountingMap = stockProductNumbers.stream()
-            .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
-        return productCountingMap;
+    /*재고 차감 체크가 필요한 상품들만 골라 상품별 counting
+     * 한번 순회하며 int 수량으로 바로 센다. (중간 list / boxing 없음)*/
+    static ProductQuantities createStockQuantities(List<Product> products) {
+        ProductQuantities stockQuantities = new ProductQuantities(products.size());
+        for (Product product : products) {
+            if (ProductType.containsStockType(product.getType())) {
+                stockQuantities.add(product.getProductNumber(), 1);
+            }
+        }
+        return stockQuantities;
     }
 }
@@ -1,42 +1,120 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.api.service.order.response.DailySalesResponse;
+import sample.cafekiosk.spring.api.service.order.response.DailySalesResponse.ProductSales;
+import sample.cafekiosk.spring.api.service.order.response.HourlySalesResponse;
+import sample.cafekiosk.spring.api.service.sales.DailySalesRollup;
+import sample.cafekiosk.spring.config.sql.SqlMonitored;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesTotal;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderSummary;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSales;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
 
+@SqlMonitored
 @Service
 @RequiredArgsConstructor
 public class OrderStatisticsService {
 
+    private static final int HOURS_OF_DAY = 24;
+
     private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final DailyOrderSalesRepository dailyOrderSalesRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
     private final MailService mailService;
-    public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
-        //해당일자에 결제완료된 주문들을 가져옴
-        List<Order> orders = orderRepository.findOrdersBy(
-            orderDate.atStartOfDay(),
-            orderDate.plusDays(1).atStartOfDay(),
-            OrderStatus.PAYMENT_COMPLETED
-        );
 
-        //총 메츨힙계를 계산
-        int totalAmount = orders.stream()
-            .mapToInt(Order::getTotalPrice)
-            .sum();
+    /*메일은 outbox에 쌓고 outbox id를 반환한다 (전송은 MailOutboxDispatcher가 재시도하며 처리)*/
+    public Long sendOrderStatisticsMail(LocalDate orderDate, String email) {
+        //해당일자에 결제완료된 주문들의 매출 합계 (일별 집계 row 하나만 읽는다)
+        long totalAmount = getTotalAmount(orderDate, OrderStatus.PAYMENT_COMPLETED);
+
         //메일전송
-        boolean result = mailService.sendMail("no-reply@cafekiosk.com",
+        return mailService.sendMail("no-reply@cafekiosk.com",
             email,
             String.format("[매출통계] %s", orderDate),
             String.format("총 매출 합계는 %s원입니다.", totalAmount)
         );
+    }
+
+    /*집계 대상 상태는 일별 집계를, 그 외 상태나 집계 row가 없는 일자는 DB 집계 쿼리로 계산한다*/
+    @Transactional(readOnly = true)
+    public DailySalesResponse getDailySales(LocalDate salesDate, OrderStatus orderStatus) {
+        Optional<DailyOrderSales> rollup = findRollup(salesDate, orderStatus);
+        if (rollup.isPresent()) {
+            return DailySalesResponse.builder()
+                .salesDate(salesDate)
+                .orderStatus(orderStatus)
+                .orderCount(rollup.get().getOrderCount())
+                .totalAmount(rollup.get().getTotalAmount())
+                .products(dailyProductSalesRepository
+                    .findAllBySalesDateAndOrderStatusOrderByProductNumber(salesDate, orderStatus).stream()
+                    .map(ProductSales::of)
+                    .collect(Collectors.toList()))
+                .build();
+        }
+
+        LocalDateTime startDateTime = salesDate.atStartOfDay();
+        LocalDateTime endDateTime = salesDate.plusDays(1).atStartOfDay();
+        OrderSalesTotal total = orderRepository.sumOrdersBy(startDateTime, endDateTime, orderStatus);
+        return DailySalesResponse.builder()
+            .salesDate(salesDate)
+            .orderStatus(orderStatus)
+            .orderCount(total.getOrderCount())
+            .totalAmount(total.getTotalAmount())
+            .products(orderProductRepository.sumProductSalesBy(startDateTime, endDateTime, orderStatus).stream()
+                .map(ProductSales::of)
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    /*시간대별 매출 - 주문 projection을 스트리밍하며 24칸 배열에만 누적한다 (주문 수와 무관한 메모리)*/
+    @Transactional(readOnly = true)
+    public List<HourlySalesResponse> getHourlySales(LocalDate salesDate, OrderStatus orderStatus) {
+        long[] orderCounts = new long[HOURS_OF_DAY];
+        long[] totalAmounts = new long[HOURS_OF_DAY];
+
+        try (Stream<OrderSummary> orders = orderRepository.streamOrdersBy(
+            salesDate.atStartOfDay(), salesDate.plusDays(1).atStartOfDay(), orderStatus)) {
+            orders.forEach(order -> {
+                int hour = order.getRegisteredDateTime().getHour();
+                orderCounts[hour]++;
+                totalAmounts[hour] += order.getTotalPrice();
+            });
+        }
+
+        List<HourlySalesResponse> responses = new ArrayList<>(HOURS_OF_DAY);
+        for (int hour = 0; hour < HOURS_OF_DAY; hour++) {
+            responses.add(new HourlySalesResponse(hour, orderCounts[hour], totalAmounts[hour]));
+        }
+        return responses;
+    }
+
+    private long getTotalAmount(LocalDate salesDate, OrderStatus orderStatus) {
+        return findRollup(salesDate, orderStatus)
+            .map(DailyOrderSales::getTotalAmount)
+            .orElseGet(() -> orderRepository.sumOrdersBy(salesDate.atStartOfDay(),
+                salesDate.plusDays(1).atStartOfDay(), orderStatus).getTotalAmount());
+    }
 
-        if (!result) {
-            throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
+    private Optional<DailyOrderSales> findRollup(LocalDate salesDate, OrderStatus orderStatus) {
+        if (!DailySalesRollup.isRolledUp(orderStatus)) {
+            return Optional.empty();
         }
-        return true;
+        return dailyOrderSalesRepository.findBySalesDateAndOrderStatus(salesDate, orderStatus);
     }
 }
@@ -0,0 +1,104 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+import sample.cafekiosk.spring.domain.order.OrderStatusSummary;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductLine;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/*여러 주문의 상태를 한번에 변경 (바리스타 화면의 일괄 접수/완료, 일괄 취소)
+ * 엔티티를 올리지 않고 projection으로 현재 상태를 읽어 전이 규칙(OrderStatus)을 검사한 뒤
+ * 현재 상태별로 update ... where id in (...) and order_status = ? 한번씩만 실행한다.
+ * */
+@Service
+@RequiredArgsConstructor
+public class OrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final StockDeductor stockDeductor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /*없는 주문이나 바꿀 수 없는 상태의 주문은 건너뛰고 결과에 담는다
+     * 읽은 뒤 다른 요청이 먼저 상태를 바꿨으면 전체를 롤백한다. (재고 복원/매출 집계가 어긋나지 않도록)
+     * */
+    @Transactional
+    public OrderStatusChangeResponse changeOrderStatus(List<Long> orderIds, OrderStatus orderStatus,
+        LocalDateTime changedDateTime) {
+        Set<Long> requestedIds = new LinkedHashSet<>(orderIds);
+        List<OrderStatusSummary> summaries = orderRepository.findStatusSummariesByIdIn(requestedIds);
+
+        Map<OrderStatus, List<Long>> idsByCurrentStatus = new EnumMap<>(OrderStatus.class);
+        Map<Long, OrderStatusSummary> changedSummaries = new HashMap<>();
+        for (OrderStatusSummary summary : summaries) {
+            if (summary.getOrderStatus().canChangeTo(orderStatus)) {
+                idsByCurrentStatus.computeIfAbsent(summary.getOrderStatus(), status -> new ArrayList<>())
+                    .add(summary.getId());
+                changedSummaries.put(summary.getId(), summary);
+            }
+        }
+
+        idsByCurrentStatus.forEach((currentStatus, ids) -> {
+            int updated = orderRepository.updateOrderStatus(ids, currentStatus, orderStatus, changedDateTime);
+            if (updated != ids.size()) {
+                throw new IllegalStateException("다른 요청이 먼저 주문 상태를 변경했습니다. 다시 시도해 주세요.");
+            }
+        });
+
+        List<Long> changedOrderIds = new ArrayList<>(changedSummaries.size());
+        List<Long> skippedOrderIds = new ArrayList<>();
+        for (Long orderId : requestedIds) {
+            if (changedSummaries.containsKey(orderId)) {
+                changedOrderIds.add(orderId);
+            } else {
+                skippedOrderIds.add(orderId);
+            }
+        }
+        if (changedOrderIds.isEmpty()) {
+            return new OrderStatusChangeResponse(orderStatus, changedOrderIds, skippedOrderIds);
+        }
+
+        Map<Long, List<OrderStatusChangedEvent.Line>> linesByOrderId = new HashMap<>();
+        ProductQuantities restoredQuantities = new ProductQuantities();
+        for (OrderProductLine line : orderProductRepository.findLinesByOrderIdIn(changedOrderIds)) {
+            linesByOrderId.computeIfAbsent(line.getOrderId(), id -> new ArrayList<>())
+                .add(new OrderStatusChangedEvent.Line(line.getProductNumber(), line.getQuantity(),
+                    line.getTotalPrice()));
+            if (orderStatus.isStockRestored() && ProductType.containsStockType(line.getProductType())) {
+                restoredQuantities.add(line.getProductNumber(), line.getQuantity());
+            }
+        }
+        stockDeductor.restore(restoredQuantities);
+
+        //일별 매출 집계는 같은 트랜잭션의 커밋 직전에 반영된다
+        for (Long orderId : changedOrderIds) {
+            OrderStatusSummary summary = changedSummaries.get(orderId);
+            eventPublisher.publishEvent(OrderStatusChangedEvent.builder()
+                .orderId(orderId)
+                .registeredDateTime(summary.getRegisteredDateTime())
+                .previousStatus(summary.getOrderStatus())
+                .orderStatus(orderStatus)
+                .totalPrice(summary.getTotalPrice())
+                .lines(linesByOrderId.getOrDefault(orderId, List.of()))
+                .build());
+        }
+        return new OrderStatusChangeResponse(orderStatus, changedOrderIds, skippedOrderIds);
+    }
+}
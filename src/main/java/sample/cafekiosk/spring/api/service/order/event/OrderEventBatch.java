@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import java.util.List;
+import lombok.Getter;
+
+/*구독자 한명에게 한번에 보낼 이벤트 묶음
+ * nextCursor : 다음에 읽기 시작할 기준 sequence
+ * lagged : 너무 늦어 놓친 이벤트가 있음 -> 화면이 전체 목록을 다시 읽어야 한다
+ * */
+@Getter
+public class OrderEventBatch {
+
+    private final List<Event> events;
+    private final long nextCursor;
+    private final boolean lagged;
+
+    public OrderEventBatch(List<Event> events, long nextCursor, boolean lagged) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.lagged = lagged;
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty() && !lagged;
+    }
+
+    @Getter
+    public static class Event {
+
+        private final long sequence;
+        private final String json;
+
+        public Event(long sequence, String json) {
+            this.sequence = sequence;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sample.cafekiosk.spring.api.service.order.response.OrderEventResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+/*주문 생성/상태 변경을 SSE 구독자(바리스타, 픽업 화면)에게 전달하는 프로세스 내 event bus
+ * - 커밋된 변경만 ring buffer에 한번 직렬화해 넣고, 구독자는 DB를 다시 읽지 않는다.
+ * - 구독자별로 cursor를 두고 한번에 하나의 전송만 돌린다. 느린 구독자는 밀린 이벤트를 주문별 최신 상태로 합쳐 받는다.
+ * - 버퍼보다 더 밀린 구독자에게는 reset 이벤트를 보내 전체 목록을 다시 읽게 한다.
+ * */
+@Slf4j
+@Component
+public class OrderEventBus {
+
+    static final String ORDER_EVENT_NAME = "order";
+    static final String RESET_EVENT_NAME = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final OrderEventRingBuffer ringBuffer;
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+
+    private final Set<OrderEventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    //구독 자리를 먼저 잡고 등록한다 -> 동시에 구독해도 maxSubscribers를 넘지 않는다
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public OrderEventBus(ObjectMapper objectMapper,
+        @Value("${cafekiosk.order-events.buffer-size:1024}") int bufferSize,
+        @Value("${cafekiosk.order-events.workers:4}") int workers,
+        @Value("${cafekiosk.order-events.timeout:30m}") Duration timeout,
+        @Value("${cafekiosk.order-events.max-subscribers:1000}") int maxSubscribers,
+        @Value("${cafekiosk.order-events.virtual-threads:false}") boolean virtualThreads) {
+        this.objectMapper = objectMapper;
+        this.ringBuffer = new OrderEventRingBuffer(bufferSize);
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.executor = createExecutor(workers, maxSubscribers, virtualThreads);
+    }
+
+    /*주문 트랜잭션이 커밋된 뒤에만 흘려보낸다*/
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderStatusChangedEvent event) {
+        publish(event.getOrderId(), OrderEventResponse.of(event));
+    }
+
+    public long publish(Long orderId, OrderEventResponse response) {
+        long sequence = ringBuffer.publish(orderId, serialize(response));
+        subscribers.forEach(this::schedule);
+        return sequence;
+    }
+
+    /*lastEventId(SSE Last-Event-ID)가 있으면 버퍼에 남아 있는 그 이후 이벤트부터 다시 보낸다*/
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("주문 이벤트 구독자가 너무 많습니다.");
+        }
+        long published = ringBuffer.getPublishedSequence();
+        long cursor = lastEventId == null ? published : Math.min(Math.max(lastEventId, 0), published);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        OrderEventSubscriber subscriber = new OrderEventSubscriber(emitter, cursor);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> {
+            unsubscribe(subscriber);
+            subscriber.getEmitter().complete();
+        });
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor taskExecutor) {
+            taskExecutor.close();
+        }
+    }
+
+    private static Executor createExecutor(int workers, int maxSubscribers, boolean virtualThreads) {
+        if (virtualThreads) {
+            //구독자별 전송은 한번에 하나뿐이라 동시 전송 수는 구독자 수를 넘지 않는다 -> 그 수로 제한을 걸어 둔다
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("order-events-");
+            taskExecutor.setVirtualThreads(true);
+            taskExecutor.setConcurrencyLimit(maxSubscribers);
+            return taskExecutor;
+        }
+        //구독자별로 대기 중인 전송은 최대 하나 -> 큐는 구독자 수만큼이면 넘치지 않는다
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxSubscribers));
+    }
+
+    //이미 전송 중인 구독자는 건너뛴다 -> 전송이 끝날 때 새 이벤트까지 이어서 보낸다
+    private void schedule(OrderEventSubscriber subscriber) {
+        if (!subscriber.tryStartSending()) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.finishSending();
+        }
+    }
+
+    private void drain(OrderEventSubscriber subscriber) {
+        try {
+            while (true) {
+                OrderEventBatch batch = ringBuffer.readAfter(subscriber.getCursor());
+                if (batch.isEmpty()) {
+                    subscriber.finishSending();
+                    //전송 완료 표시 직전에 발행된 이벤트를 놓치지 않도록 다시 확인
+                    if (ringBuffer.getPublishedSequence() > subscriber.getCursor()
+                        && subscriber.tryStartSending()) {
+                        continue;
+                    }
+                    return;
+                }
+                send(subscriber.getEmitter(), batch);
+                subscriber.moveCursor(batch.getNextCursor());
+            }
+        } catch (IOException | IllegalStateException e) {
+            //연결이 끊긴 구독자
+            log.debug("주문 이벤트 구독 종료", e);
+            unsubscribe(subscriber);
+            subscriber.getEmitter().completeWithError(e);
+        }
+    }
+
+    private void send(SseEmitter emitter, OrderEventBatch batch) throws IOException {
+        if (batch.isLagged()) {
+            emitter.send(SseEmitter.event()
+                .name(RESET_EVENT_NAME)
+                .data("{}", MediaType.APPLICATION_JSON));
+        }
+        for (OrderEventBatch.Event event : batch.getEvents()) {
+            emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(ORDER_EVENT_NAME)
+                .data(event.getJson(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    //여러 경로(완료, 오류, 전송 실패)에서 불려도 자리는 한번만 반납한다
+    private void unsubscribe(OrderEventSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private String serialize(OrderEventResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트를 직렬화할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*고정 크기 ring buffer
+ * 발행된 이벤트는 1부터 증가하는 sequence를 받고, 가장 오래된 이벤트부터 덮어쓴다.
+ * 구독자는 자기 cursor(마지막으로 받은 sequence)만 들고 lock 없이 읽는다.
+ * */
+public class OrderEventRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Slot> slots;
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    private volatile long publishedSequence;
+
+    public OrderEventRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("버퍼 크기는 0보다 커야 합니다.");
+        }
+        //index 계산을 bit 연산으로 하기 위해 2의 거듭제곱으로 올린다
+        this.capacity = powerOfTwoAtLeast(capacity);
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    public long publish(long orderId, String json) {
+        publishLock.lock();
+        try {
+            long sequence = publishedSequence + 1;
+            slots.set(index(sequence), new Slot(sequence, orderId, json));
+            publishedSequence = sequence;
+            return sequence;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    public long getPublishedSequence() {
+        return publishedSequence;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /*cursor 이후 발행된 이벤트를 주문별 최신 상태 하나로 합쳐(coalescing) sequence 순으로 돌려준다
+     * 덮어써져 읽을 수 없는 이벤트가 있었으면 lagged = true (남아 있는 이벤트부터 읽는다)*/
+    public OrderEventBatch readAfter(long cursor) {
+        long published = publishedSequence;
+        if (cursor >= published) {
+            return new OrderEventBatch(List.of(), published, false);
+        }
+
+        long oldest = Math.max(published - capacity + 1, 1);
+        boolean lagged = cursor + 1 < oldest;
+        Map<Long, Slot> latestByOrderId = new LinkedHashMap<>();
+        for (long sequence = Math.max(cursor + 1, oldest); sequence <= published; sequence++) {
+            Slot slot = slots.get(index(sequence));
+            if (slot == null || slot.sequence != sequence) {
+                //읽는 사이 덮어써짐
+                lagged = true;
+                continue;
+            }
+            //같은 주문은 마지막 이벤트 위치로 옮긴다
+            latestByOrderId.remove(slot.orderId);
+            latestByOrderId.put(slot.orderId, slot);
+        }
+
+        List<OrderEventBatch.Event> events = new ArrayList<>(latestByOrderId.size());
+        for (Slot slot : latestByOrderId.values()) {
+            events.add(new OrderEventBatch.Event(slot.sequence, slot.json));
+        }
+        return new OrderEventBatch(events, published, lagged);
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static final class Slot {
+
+        private final long sequence;
+        private final long orderId;
+        private final String json;
+
+        private Slot(long sequence, long orderId, String json) {
+            this.sequence = sequence;
+            this.orderId = orderId;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/*구독자(화면) 하나 - 마지막으로 보낸 sequence와 전송 중 여부만 가진다
+ * 한 구독자에게는 한번에 하나의 전송만 돌고, 그 사이 쌓인 이벤트는 다음 전송에서 합쳐진다. (backpressure)
+ * */
+class OrderEventSubscriber {
+
+    private final SseEmitter emitter;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile long cursor;
+
+    OrderEventSubscriber(SseEmitter emitter, long cursor) {
+        this.emitter = emitter;
+        this.cursor = cursor;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    long getCursor() {
+        return cursor;
+    }
+
+    void moveCursor(long cursor) {
+        this.cursor = cursor;
+    }
+
+    boolean tryStartSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void finishSending() {
+        sending.set(false);
+    }
+}
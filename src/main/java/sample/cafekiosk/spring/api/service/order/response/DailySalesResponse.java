@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.ProductSalesTotal;
+import sample.cafekiosk.spring.domain.sales.DailyProductSales;
+
+@Getter
+public class DailySalesResponse {
+
+    private LocalDate salesDate;
+    private OrderStatus orderStatus;
+    private long orderCount;
+    private long totalAmount;
+    private List<ProductSales> products;
+
+    @Builder
+    private DailySalesResponse(LocalDate salesDate, OrderStatus orderStatus, long orderCount,
+        long totalAmount, List<ProductSales> products) {
+        this.salesDate = salesDate;
+        this.orderStatus = orderStatus;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+        this.products = products;
+    }
+
+    @Getter
+    public static class ProductSales {
+
+        private final String productNumber;
+        private final long quantity;
+        private final long totalAmount;
+
+        private ProductSales(String productNumber, long quantity, long totalAmount) {
+            this.productNumber = productNumber;
+            this.quantity = quantity;
+            this.totalAmount = totalAmount;
+        }
+
+        public static ProductSales of(DailyProductSales sales) {
+            return new ProductSales(sales.getProductNumber(), sales.getQuantity(), sales.getTotalAmount());
+        }
+
+        public static ProductSales of(ProductSalesTotal total) {
+            return new ProductSales(total.getProductNumber(), total.getQuantity(), total.getTotalAmount());
+        }
+    }
+}
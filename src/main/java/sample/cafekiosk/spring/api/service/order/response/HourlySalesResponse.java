@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Getter;
+
+@Getter
+public class HourlySalesResponse {
+
+    private final int hour;
+    private final long orderCount;
+    private final long totalAmount;
+
+    public HourlySalesResponse(int hour, long orderCount, long totalAmount) {
+        this.hour = hour;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+}
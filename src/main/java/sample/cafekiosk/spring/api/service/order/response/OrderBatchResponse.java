@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.util.List;
+import lombok.Getter;
+
+/*일괄 주문 결과 - 요청 순서대로 주문별 성공/실패를 담는다*/
+@Getter
+public class OrderBatchResponse {
+
+    private final int successCount;
+    private final int failureCount;
+    private final List<Result> results;
+
+    public OrderBatchResponse(List<Result> results) {
+        this.results = results;
+        this.successCount = (int) results.stream().filter(Result::isSuccess).count();
+        this.failureCount = results.size() - successCount;
+    }
+
+    @Getter
+    public static class Result {
+
+        private final int index;
+        private final boolean success;
+        private final String message;
+        private final OrderResponse order;
+
+        private Result(int index, boolean success, String message, OrderResponse order) {
+            this.index = index;
+            this.success = success;
+            this.message = message;
+            this.order = order;
+        }
+
+        public static Result success(int index, OrderResponse order) {
+            return new Result(index, true, null, order);
+        }
+
+        public static Result failure(int index, String message) {
+            return new Result(index, false, message, null);
+        }
+    }
+}
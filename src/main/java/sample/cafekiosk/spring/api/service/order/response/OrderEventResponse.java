@@ -0,0 +1,63 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+/*바리스타/픽업 화면으로 흘려보내는 주문 상태 변경 (생성 시 previousStatus는 null)*/
+@Getter
+public class OrderEventResponse {
+
+    private final Long orderId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus orderStatus;
+    private final int totalPrice;
+    private final LocalDateTime registeredDateTime;
+    private final List<ProductLine> products;
+
+    @Builder
+    private OrderEventResponse(Long orderId, OrderStatus previousStatus, OrderStatus orderStatus,
+        int totalPrice, LocalDateTime registeredDateTime, List<ProductLine> products) {
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.registeredDateTime = registeredDateTime;
+        this.products = products;
+    }
+
+    public static OrderEventResponse of(OrderStatusChangedEvent event) {
+        return OrderEventResponse.builder()
+            .orderId(event.getOrderId())
+            .previousStatus(event.getPreviousStatus())
+            .orderStatus(event.getOrderStatus())
+            .totalPrice(event.getTotalPrice())
+            .registeredDateTime(event.getRegisteredDateTime())
+            .products(event.getLines().stream()
+                .map(ProductLine::of)
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    @Getter
+    public static class ProductLine {
+
+        private final String productNumber;
+        private final int quantity;
+        private final int totalPrice;
+
+        private ProductLine(String productNumber, int quantity, int totalPrice) {
+            this.productNumber = productNumber;
+            this.quantity = quantity;
+            this.totalPrice = totalPrice;
+        }
+
+        public static ProductLine of(OrderStatusChangedEvent.Line line) {
+            return new ProductLine(line.getProductNumber(), line.getQuantity(), line.getTotalPrice());
+        }
+    }
+}
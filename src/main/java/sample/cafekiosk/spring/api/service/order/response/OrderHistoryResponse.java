@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+
+/*최신순 keyset 페이지 - 다음 페이지는 nextCursorDateTime, nextCursorId를 cursorDateTime, cursorId로 넘겨 요청한다*/
+@Getter
+public class OrderHistoryResponse {
+
+    private final List<OrderResponse> orders;
+    private final LocalDateTime nextCursorDateTime;
+    private final Long nextCursorId;
+    private final boolean hasNext;
+
+    public OrderHistoryResponse(List<OrderResponse> orders, LocalDateTime nextCursorDateTime, Long nextCursorId,
+        boolean hasNext) {
+        this.orders = orders;
+        this.nextCursorDateTime = nextCursorDateTime;
+        this.nextCursorId = nextCursorId;
+        this.hasNext = hasNext;
+    }
+}
@@ -1,39 +1,59 @@
 package sample.cafekiosk.spring.api.service.order.response;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Getter;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 
 @Getter
 public class OrderResponse {
 
     private Long id;
+    private OrderStatus orderStatus;
     private int totalPrice;
 
     private LocalDateTime registeredDateTime;
     private List<ProductResponse> products;
 
     @Builder
-    public OrderResponse(Long id, int totalPrice, LocalDateTime registeredDateTime,
+    public OrderResponse(Long id, OrderStatus orderStatus, int totalPrice, LocalDateTime registeredDateTime,
         List<ProductResponse> products) {
         this.id = id;
+        this.orderStatus = orderStatus;
         this.totalPrice = totalPrice;
         this.registeredDateTime = registeredDateTime;
         this.products = products;
     }
 
+    /*주문 상품, 상품을 차례로 읽으므로 조회한 주문이라면 함께 fetch 해둔 주문이어야 한다
+     * (OrderRepository.findWithOrderProductsById, findAllWithOrderProductsByIdIn)*/
     public static OrderResponse of(Order order) {
         return OrderResponse.builder()
             .id(order.getId())
+            .orderStatus(order.getOrderStatus())
             .totalPrice(order.getTotalPrice())
             .registeredDateTime(order.getRegisteredDateTime())
-            .products(order.getOrderProducts().stream()
-                .map(orderProduct -> ProductResponse.of(orderProduct.getProduct()))
-                .collect(Collectors.toList()))
+            .products(toProductResponses(order.getOrderProducts()))
             .build();
     }
+
+    /*주문 라인은 수량으로 묶여 있지만, 응답은 기존처럼 수량만큼 상품을 펼친다
+     * (같은 라인은 ProductResponse 하나를 공유, 가격은 주문 당시 단가라 합계가 totalPrice와 맞는다)*/
+    private static List<ProductResponse> toProductResponses(List<OrderProduct> orderProducts) {
+        int totalQuantity = orderProducts.stream()
+            .mapToInt(OrderProduct::getQuantity)
+            .sum();
+        List<ProductResponse> products = new ArrayList<>(totalQuantity);
+        for (OrderProduct orderProduct : orderProducts) {
+            products.addAll(Collections.nCopies(orderProduct.getQuantity(),
+                ProductResponse.of(orderProduct)));
+        }
+        return products;
+    }
 }
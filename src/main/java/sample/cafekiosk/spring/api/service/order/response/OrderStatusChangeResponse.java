@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.util.List;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/*일괄 상태 변경 결과 - 변경된 주문과 건너뛴 주문(없는 주문, 바꿀 수 없는 상태)을 요청 순서대로 담는다*/
+@Getter
+public class OrderStatusChangeResponse {
+
+    private final OrderStatus orderStatus;
+    private final List<Long> changedOrderIds;
+    private final List<Long> skippedOrderIds;
+
+    public OrderStatusChangeResponse(OrderStatus orderStatus, List<Long> changedOrderIds,
+        List<Long> skippedOrderIds) {
+        this.orderStatus = orderStatus;
+        this.changedOrderIds = changedOrderIds;
+        this.skippedOrderIds = skippedOrderIds;
+    }
+}
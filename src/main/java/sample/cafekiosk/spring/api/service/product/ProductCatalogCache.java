@@ -0,0 +1,153 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductCatalog;
+import sample.cafekiosk.spring.api.timing.PhaseTimer;
+import sample.cafekiosk.spring.jfr.CatalogLoadJfrEvent;
+
+/*판매 상품 목록 near-cache
+ * - ttl이 지나거나 상품 등록/판매상태 변경이 커밋되면 비워진다.
+ * - max-size보다 상품이 많으면 캐싱하지 않는다.
+ * - 캐시가 비었을 때 동시에 들어온 요청은 한번만 로딩한다.
+ * - hit/miss 수와 hit ratio를 cafekiosk.catalog.cache.* 메트릭으로 내보낸다. (로딩한 요청이 miss)
+ * - 로딩 한번은 JFR 이벤트(cafekiosk.CatalogLoad)로 남긴다.
+ * */
+@Component
+public class ProductCatalogCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private volatile Entry entry;
+
+    @Autowired
+    public ProductCatalogCache(ObjectMapper objectMapper,
+        @Value("${cafekiosk.catalog-cache.ttl:10m}") Duration ttl,
+        @Value("${cafekiosk.catalog-cache.max-size:1000}") int maxSize) {
+        this(objectMapper, ttl, maxSize, System::nanoTime);
+    }
+
+    ProductCatalogCache(ObjectMapper objectMapper, Duration ttl, int maxSize,
+        LongSupplier nanoClock) {
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+    }
+
+    public SellingProductCatalog get(Supplier<List<ProductResponse>> loader) {
+        Entry current = entry;
+        if (isValid(current)) {
+            hitCount.increment();
+            return current.catalog;
+        }
+
+        loadLock.lock();
+        try {
+            current = entry;
+            if (isValid(current)) {
+                hitCount.increment();
+                return current.catalog;
+            }
+
+            missCount.increment();
+            CatalogLoadJfrEvent event = new CatalogLoadJfrEvent();
+            event.begin();
+            long loadingGeneration = generation.get();
+            List<ProductResponse> products = loader.get();
+            long serializeStartNanos = System.nanoTime();
+            SellingProductCatalog catalog = SellingProductCatalog.of(products, objectMapper);
+            PhaseTimer.record(PhaseTimer.Phase.SERIALIZE, serializeStartNanos);
+            if (catalog.size() <= maxSize) {
+                entry = new Entry(catalog, loadingGeneration, nanoClock.getAsLong() + ttlNanos);
+                event.cached = true;
+            }
+            event.productCount = catalog.size();
+            event.commit();
+            return catalog;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidate(ProductCatalogChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        entry = null;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRatio() {
+        long hits = hitCount.sum();
+        long requests = hits + missCount.sum();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cafekiosk.catalog.cache.requests", this, ProductCatalogCache::getHitCount)
+            .description("Selling product catalog cache requests")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cafekiosk.catalog.cache.requests", this, ProductCatalogCache::getMissCount)
+            .description("Selling product catalog cache requests")
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("cafekiosk.catalog.cache.hit.ratio", this, ProductCatalogCache::getHitRatio)
+            .description("Selling product catalog cache hit ratio since startup")
+            .register(registry);
+    }
+
+    //로딩 중에 무효화되었다면 그 결과는 이미 낡은 값이다
+    private boolean isValid(Entry current) {
+        return current != null
+            && current.generation == generation.get()
+            && nanoClock.getAsLong() - current.expiresAt < 0;
+    }
+
+    private static class Entry {
+
+        private final SellingProductCatalog catalog;
+        private final long generation;
+        private final long expiresAt;
+
+        private Entry(SellingProductCatalog catalog, long generation, long expiresAt) {
+            this.catalog = catalog;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
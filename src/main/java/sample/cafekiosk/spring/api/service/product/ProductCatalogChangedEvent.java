@@ -0,0 +1,14 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.Getter;
+
+/*판매 상품 목록이 바뀌었음을 알리는 이벤트 (커밋 이후 카탈로그 캐시를 비운다)*/
+@Getter
+public class ProductCatalogChangedEvent {
+
+    private final String productNumber;
+
+    public ProductCatalogChangedEvent(String productNumber) {
+        this.productNumber = productNumber;
+    }
+}
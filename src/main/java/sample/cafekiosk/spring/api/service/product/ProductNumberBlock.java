@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*빌려온 상품번호 구간 [start, end] - 구간 안에서는 lock 없이 getAndIncrement로 발급*/
+class ProductNumberBlock {
+
+    static final ProductNumberBlock EMPTY = new ProductNumberBlock(1, 0);
+
+    private final AtomicLong cursor;
+    private final long end;
+
+    ProductNumberBlock(long start, long end) {
+        this.cursor = new AtomicLong(start);
+        this.end = end;
+    }
+
+    //구간을 다 썼으면 -1
+    long next() {
+        long value = cursor.getAndIncrement();
+        return value <= end ? value : -1;
+    }
+
+    boolean isExhausted() {
+        return cursor.get() > end;
+    }
+}
@@ -1,25 +1,110 @@
 package sample.cafekiosk.spring.api.service.product;
 
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 
-@RequiredArgsConstructor
+/*상품번호 발급기
+ * 채번 테이블에서 blockSize 개의 번호 구간을 별도 트랜잭션으로 빌려온 뒤, 메모리에서 AtomicLong으로 발급한다.
+ * 노드마다 서로 다른 구간을 빌리므로 번호는 겹치지 않고, 쓰지 못한 번호는 건너뛸 수 있다.
+ * 구간을 빌리는 트랜잭션은 커넥션을 따로 잡으므로, 트랜잭션 밖에서 호출한다 (ProductService.createProduct).
+ * */
+@Slf4j
 @Component
 public class ProductNumberFactory {
 
+    static final String SEQUENCE_NAME = "product";
+
     private final ProductRepository productRepository;
+    private final ProductNumberSequenceRepository productNumberSequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final String productNumberFormat;
+    private final long blockSize;
+
+    private final AtomicReference<ProductNumberBlock> block = new AtomicReference<>(
+        ProductNumberBlock.EMPTY);
+    private final ReentrantLock leaseLock = new ReentrantLock();
 
-    /*DB에서 마지막 저장된 Product의 상품 번호를 읽어와서 +1*/
+    public ProductNumberFactory(ProductRepository productRepository,
+        ProductNumberSequenceRepository productNumberSequenceRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${cafekiosk.product-number.width:3}") int width,
+        @Value("${cafekiosk.product-number.block-size:20}") long blockSize) {
+        this.productRepository = productRepository;
+        this.productNumberSequenceRepository = productNumberSequenceRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.productNumberFormat = "%0" + width + "d";
+        this.blockSize = blockSize;
+    }
+
+    //9->  009 10 -> 010, 자릿수를 넘으면 그대로 늘어난다 (1000 -> 1000)
     public String createNextProductNumber() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("상품번호는 트랜잭션 밖에서 발급해야 합니다.");
+        }
+        return String.format(productNumberFormat, nextValue());
+    }
+
+    /*메모리에 빌려둔 구간을 비운다 (다음 발급 때 새 구간을 빌린다)*/
+    public void reset() {
+        block.set(ProductNumberBlock.EMPTY);
+    }
+
+    private long nextValue() {
+        while (true) {
+            long value = block.get().next();
+            if (value > 0) {
+                return value;
+            }
+
+            leaseLock.lock();
+            try {
+                if (block.get().isExhausted()) {
+                    block.set(leaseBlock());
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    private ProductNumberBlock leaseBlock() {
+        while (true) {
+            try {
+                Long nextValue = leaseTransaction.execute(status -> lease());
+                return new ProductNumberBlock(nextValue - blockSize, nextValue - 1);
+            } catch (DataIntegrityViolationException e) {
+                //다른 노드가 먼저 채번 row를 만들었다 -> 다시 빌린다
+                log.info("상품번호 채번 row 생성 충돌, 재시도");
+            }
+        }
+    }
+
+    private Long lease() {
+        if (productNumberSequenceRepository.increaseNextValue(SEQUENCE_NAME, blockSize) == 0) {
+            productNumberSequenceRepository.insert(SEQUENCE_NAME, findLatestProductNumber() + 1);
+            productNumberSequenceRepository.increaseNextValue(SEQUENCE_NAME, blockSize);
+        }
+        return productNumberSequenceRepository.findNextValue(SEQUENCE_NAME)
+            .orElseThrow(() -> new IllegalStateException("상품번호 채번 정보가 없습니다."));
+    }
+
+    /*채번 row가 처음 만들어질 때, 이미 저장된 상품번호 다음부터 발급한다*/
+    private long findLatestProductNumber() {
         String latestProductNumber = productRepository.findLatestProductNumber();
         if (latestProductNumber == null) {
-            return "001";
+            return 0;
         }
-        int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-        int nextProductNumberInt = latestProductNumberInt + 1;
-        //9->  009 10 -> 10
-        return String.format("%03d", nextProductNumberInt);
+        return Long.parseLong(latestProductNumber);
     }
-
 }
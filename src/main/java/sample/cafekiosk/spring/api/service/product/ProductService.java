@@ -2,39 +2,113 @@ package sample.cafekiosk.spring.api.service.product;
 
 import java.util.List;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductCatalog;
+import sample.cafekiosk.spring.api.timing.PhaseTimer;
+import sample.cafekiosk.spring.config.sql.SqlMonitored;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductSummary;
 
 @Service
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductNumberFactory productNumberFactory;
+    private final ProductCatalogCache productCatalogCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    public ProductService(ProductRepository productRepository, ProductNumberFactory productNumberFactory,
+        ProductCatalogCache productCatalogCache, ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productNumberFactory = productNumberFactory;
+        this.productCatalogCache = productCatalogCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /*상품번호 구간을 빌리는 트랜잭션이 커넥션을 하나 더 잡지 않도록, 번호는 상품 저장 트랜잭션을 열기 전에 발급한다
+     * (저장 트랜잭션 안에서 빌리면 요청마다 커넥션 두개가 필요해 pool이 모자랄 때 서로 기다리며 멈춘다)
+     * 저장이 실패하면 발급한 번호는 건너뛴다.
+     * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductResponse createProduct(ProductCreateServiceRequest request) {
         String nextProductNumber = productNumberFactory.createNextProductNumber();
 
-        Product product = request.toEntity(nextProductNumber);
-        Product savedProduct = productRepository.save(product);
+        return transactionTemplate.execute(status -> {
+            Product product = request.toEntity(nextProductNumber);
+            Product savedProduct = productRepository.save(product);
+
+            //커밋 이후 판매 상품 캐시 무효화
+            eventPublisher.publishEvent(new ProductCatalogChangedEvent(savedProduct.getProductNumber()));
+
+            //nextProductNumber
+            return ProductResponse.of(savedProduct);
+        });
+    }
+
+    @Transactional
+    public ProductResponse changeSellingStatus(String productNumber,
+        ProductSellingStatus sellingStatus) {
+        Product product = productRepository.findByProductNumber(productNumber)
+            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+        product.changeSellingStatus(sellingStatus);
+
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(productNumber));
+        return ProductResponse.of(product);
+    }
+
+    /*필터 + keyset 페이지
+     * 한 건 더 읽어 다음 페이지가 있는지 판단하고, 마지막 상품의 id를 다음 cursor로 돌려준다.*/
+    public ProductPageResponse getProducts(ProductSearchServiceRequest request) {
+        long phaseStartNanos = System.nanoTime();
+        List<ProductSummary> summaries = productRepository.findSummariesAfter(request.toCondition(),
+            request.getCursor(), request.getSize() + 1);
+        phaseStartNanos = PhaseTimer.record(PhaseTimer.Phase.PRODUCTS, phaseStartNanos);
 
-        //nextProductNumber
-        return ProductResponse.of(savedProduct);
+        boolean hasNext = summaries.size() > request.getSize();
+        List<ProductResponse> products = summaries.stream()
+            .limit(request.getSize())
+            .map(ProductResponse::of)
+            .collect(Collectors.toList());
+        Long nextCursor = hasNext ? products.get(products.size() - 1).getId() : null;
+        PhaseTimer.record(PhaseTimer.Phase.MAPPING, phaseStartNanos);
+        return new ProductPageResponse(products, nextCursor, hasNext);
     }
 
+    @SqlMonitored
     public List<ProductResponse> getSellingProducts() {
-        List<Product> products = productRepository.findAllBySellingStatusIn(
-            ProductSellingStatus.forDisplay());
-        return products.stream().map(ProductResponse::of).collect(Collectors.toList());
+        return findSellingProducts();
     }
 
+    /*캐시 hit 시 커넥션을 잡지 않도록 트랜잭션 밖에서 조회 (로딩은 repository 트랜잭션으로 처리)*/
+    @SqlMonitored
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SellingProductCatalog getSellingProductCatalog() {
+        return productCatalogCache.get(this::findSellingProducts);
+    }
 
+    private List<ProductResponse> findSellingProducts() {
+        long phaseStartNanos = System.nanoTime();
+        List<Product> products = productRepository.findAllBySellingStatusIn(
+            ProductSellingStatus.forDisplay());
+        phaseStartNanos = PhaseTimer.record(PhaseTimer.Phase.PRODUCTS, phaseStartNanos);
+
+        List<ProductResponse> responses = products.stream().map(ProductResponse::of).collect(Collectors.toList());
+        PhaseTimer.record(PhaseTimer.Phase.MAPPING, phaseStartNanos);
+        return responses;
+    }
 }
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.api.service.product.request;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.ProductSearchCondition;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+@Getter
+public class ProductSearchServiceRequest {
+
+    private final List<ProductType> types;
+    private final List<ProductSellingStatus> sellingStatuses;
+    private final Integer minPrice;
+    private final Integer maxPrice;
+    private final Long cursor;
+    private final int size;
+
+    @Builder
+    private ProductSearchServiceRequest(List<ProductType> types, List<ProductSellingStatus> sellingStatuses,
+        Integer minPrice, Integer maxPrice, Long cursor, int size) {
+        this.types = types;
+        this.sellingStatuses = sellingStatuses;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.cursor = cursor;
+        this.size = size;
+    }
+
+    /*판매상태를 고르지 않으면 기존 판매 상품 목록처럼 화면에 보이는 상태(판매중, 판매보류)만*/
+    public ProductSearchCondition toCondition() {
+        return ProductSearchCondition.builder()
+            .types(types)
+            .sellingStatuses(sellingStatuses == null || sellingStatuses.isEmpty()
+                ? ProductSellingStatus.forDisplay() : sellingStatuses)
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .build();
+    }
+}
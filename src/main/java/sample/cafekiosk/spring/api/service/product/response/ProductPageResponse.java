@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import java.util.List;
+import lombok.Getter;
+
+/*keyset 페이지 - 다음 페이지는 nextCursor를 cursor로 넘겨 요청한다*/
+@Getter
+public class ProductPageResponse {
+
+    private final List<ProductResponse> products;
+    private final Long nextCursor;
+    private final boolean hasNext;
+
+    public ProductPageResponse(List<ProductResponse> products, Long nextCursor, boolean hasNext) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
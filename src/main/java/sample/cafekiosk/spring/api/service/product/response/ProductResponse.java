@@ -2,8 +2,10 @@ package sample.cafekiosk.spring.api.service.product.response;
 
 import lombok.Builder;
 import lombok.Getter;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductSummary;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 @Getter
@@ -38,4 +40,28 @@ public class ProductResponse {
             .price(product.getPrice())
             .build();
     }
+
+    /*주문 라인의 상품 - 가격은 현재 상품 가격이 아니라 주문 당시 단가*/
+    public static ProductResponse of(OrderProduct orderProduct) {
+        Product product = orderProduct.getProduct();
+        return ProductResponse.builder()
+            .id(product.getId())
+            .productNumber(product.getProductNumber())
+            .type(product.getType())
+            .sellingStatus(product.getSellingStatus())
+            .name(product.getName())
+            .price(orderProduct.getPrice())
+            .build();
+    }
+
+    public static ProductResponse of(ProductSummary product) {
+        return ProductResponse.builder()
+            .id(product.getId())
+            .productNumber(product.getProductNumber())
+            .type(product.getType())
+            .sellingStatus(product.getSellingStatus())
+            .name(product.getName())
+            .price(product.getPrice())
+            .build();
+    }
 }
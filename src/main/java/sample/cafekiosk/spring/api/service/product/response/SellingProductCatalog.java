@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.util.List;
+
+/*판매 상품 목록과, 미리 직렬화해 둔 JSON(UTF-8 byte)
+ * 응답 시 @JsonValue로 직렬화된 byte를 그대로 쓰므로 상품별로 다시 직렬화하지 않는다.*/
+public class SellingProductCatalog {
+
+    private final List<ProductResponse> products;
+    private final SerializedString json;
+
+    private SellingProductCatalog(List<ProductResponse> products, SerializedString json) {
+        this.products = products;
+        this.json = json;
+    }
+
+    public static SellingProductCatalog of(List<ProductResponse> products,
+        ObjectMapper objectMapper) {
+        List<ProductResponse> immutableProducts = List.copyOf(products);
+        try {
+            SerializedString json = new SerializedString(
+                objectMapper.writeValueAsString(immutableProducts));
+            json.asUnquotedUTF8();//UTF-8 byte를 미리 만들어 캐싱
+            return new SellingProductCatalog(immutableProducts, json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("판매 상품 목록을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    public List<ProductResponse> getProducts() {
+        return products;
+    }
+
+    public byte[] getJsonBytes() {
+        return json.asUnquotedUTF8();
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    @JsonValue
+    public RawValue toJson() {
+        return new RawValue(json);
+    }
+}
@@ -0,0 +1,74 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+
+/*한 트랜잭션에서 발생한 주문 상태 변경을 집계 키별 증감으로 합친다
+ * 키 순서(일자, 상태, 상품번호)대로 꺼내므로 동시 트랜잭션이 같은 순서로 row lock을 잡는다.*/
+class DailySalesDelta {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::getSalesDate)
+        .thenComparing(Key::getOrderStatus)
+        .thenComparing(Key::getProductNumber, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<Key, long[]> orderSales = new TreeMap<>(KEY_ORDER);
+    private final Map<Key, long[]> productSales = new TreeMap<>(KEY_ORDER);
+
+    void add(OrderStatusChangedEvent event, OrderStatus orderStatus, int sign) {
+        LocalDate salesDate = event.getRegisteredDateTime().toLocalDate();
+        add(orderSales, new Key(salesDate, orderStatus, null), sign, (long) sign * event.getTotalPrice());
+        for (OrderStatusChangedEvent.Line line : event.getLines()) {
+            add(productSales, new Key(salesDate, orderStatus, line.getProductNumber()),
+                (long) sign * line.getQuantity(), (long) sign * line.getTotalPrice());
+        }
+    }
+
+    boolean isEmpty() {
+        return orderSales.isEmpty() && productSales.isEmpty();
+    }
+
+    /*증감이 서로 상쇄된 키는 건너뛴다*/
+    void forEachOrderSales(BiConsumer<Key, long[]> action) {
+        forEachNonZero(orderSales, action);
+    }
+
+    void forEachProductSales(BiConsumer<Key, long[]> action) {
+        forEachNonZero(productSales, action);
+    }
+
+    private void add(Map<Key, long[]> sales, Key key, long count, long amount) {
+        long[] values = sales.computeIfAbsent(key, k -> new long[2]);
+        values[0] += count;
+        values[1] += amount;
+    }
+
+    private void forEachNonZero(Map<Key, long[]> sales, BiConsumer<Key, long[]> action) {
+        sales.forEach((key, values) -> {
+            if (values[0] != 0 || values[1] != 0) {
+                action.accept(key, values);
+            }
+        });
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    static class Key {
+
+        private final LocalDate salesDate;
+        private final OrderStatus orderStatus;
+        private final String productNumber;
+
+        private Key(LocalDate salesDate, OrderStatus orderStatus, String productNumber) {
+            this.salesDate = salesDate;
+            this.orderStatus = orderStatus;
+            this.productNumber = productNumber;
+        }
+    }
+}
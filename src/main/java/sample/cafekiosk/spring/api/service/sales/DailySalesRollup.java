@@ -0,0 +1,144 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.EnumSet;
+import java.util.Set;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+
+/*주문 상태 변경을 일별 매출 집계 테이블에 증감으로 반영
+ * 매출 통계가 읽는 상태(결제완료/접수/완료)만 집계한다. 접수 전 INIT 주문까지 집계하면 모든 주문 생성이
+ * 같은 (오늘, INIT) row 하나를 갱신하게 되어 hot row가 된다.
+ * 한 트랜잭션의 변경은 키별 증감으로 합쳐 커밋 직전(beforeCommit)에 키마다 update 한 번으로 반영한다.
+ * 주문이 롤백되면 집계도 함께 롤백되고, 집계 row의 lock은 커밋 직전 잠깐만 잡힌다.
+ * */
+@Component
+public class DailySalesRollup {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final Set<OrderStatus> ROLLUP_STATUSES = EnumSet.of(
+        OrderStatus.PAYMENT_COMPLETED, OrderStatus.RECEIVED, OrderStatus.COMPLETED);
+
+    private final DailyOrderSalesRepository dailyOrderSalesRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DailySalesRollup(DailyOrderSalesRepository dailyOrderSalesRepository,
+        DailyProductSalesRepository dailyProductSalesRepository, JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager) {
+        this.dailyOrderSalesRepository = dailyOrderSalesRepository;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static boolean isRolledUp(OrderStatus orderStatus) {
+        return orderStatus != null && ROLLUP_STATUSES.contains(orderStatus);
+    }
+
+    @EventListener
+    public void on(OrderStatusChangedEvent event) {
+        boolean fromRollup = isRolledUp(event.getPreviousStatus());
+        boolean toRollup = isRolledUp(event.getOrderStatus());
+        if (!fromRollup && !toRollup) {
+            return;
+        }
+
+        //트랜잭션 밖에서 발행되면 새 트랜잭션에서 바로 반영한다
+        boolean deferred = TransactionSynchronizationManager.isSynchronizationActive();
+        DailySalesDelta delta = deferred ? currentDelta() : new DailySalesDelta();
+        if (fromRollup) {
+            delta.add(event, event.getPreviousStatus(), -1);
+        }
+        if (toRollup) {
+            delta.add(event, event.getOrderStatus(), 1);
+        }
+        if (!deferred) {
+            transactionTemplate.executeWithoutResult(status -> apply(delta));
+        }
+    }
+
+    /*현재 트랜잭션에 등록된 증감을 찾고, 없으면 커밋 직전에 반영하도록 등록한다
+     * (REQUIRES_NEW로 중단된 바깥 트랜잭션의 synchronization은 보이지 않으므로 트랜잭션마다 따로 모인다)*/
+    private DailySalesDelta currentDelta() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof RollupSynchronization rollupSynchronization) {
+                return rollupSynchronization.delta;
+            }
+        }
+        RollupSynchronization synchronization = new RollupSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(synchronization);
+        return synchronization.delta;
+    }
+
+    /*없는 row는 0으로 만든 뒤 다시 증감한다
+     * 같은 키의 첫 row를 두 트랜잭션이 동시에 만들면 늦은 쪽의 insert는 unique 제약에 걸리지만,
+     * savepoint까지만 되돌리고 먼저 만든 row에 update로 반영한다. (주문 상태 변경은 롤백되지 않는다)*/
+    private void apply(DailySalesDelta delta) {
+        delta.forEachOrderSales((key, values) -> {
+            if (dailyOrderSalesRepository.accumulate(key.getSalesDate(), key.getOrderStatus(),
+                values[0], values[1]) == 0) {
+                insertIfAbsent("insert into daily_order_sales (sales_date, order_status, order_count, total_amount)"
+                    + " values (?, ?, 0, 0)", key.getSalesDate(), key.getOrderStatus().name());
+                dailyOrderSalesRepository.accumulate(key.getSalesDate(), key.getOrderStatus(), values[0], values[1]);
+            }
+        });
+        delta.forEachProductSales((key, values) -> {
+            if (dailyProductSalesRepository.accumulate(key.getSalesDate(), key.getOrderStatus(),
+                key.getProductNumber(), values[0], values[1]) == 0) {
+                insertIfAbsent("insert into daily_product_sales"
+                        + " (sales_date, order_status, product_number, quantity, total_amount) values (?, ?, ?, 0, 0)",
+                    key.getSalesDate(), key.getOrderStatus().name(), key.getProductNumber());
+                dailyProductSalesRepository.accumulate(key.getSalesDate(), key.getOrderStatus(),
+                    key.getProductNumber(), values[0], values[1]);
+            }
+        });
+    }
+
+    /*현재 트랜잭션의 커넥션에서 savepoint를 두고 insert (별도 커넥션을 잡지 않는다)
+     * JPA로 insert하면 제약 위반만으로 트랜잭션 전체가 rollback-only가 되므로 JDBC로 직접 실행한다.*/
+    private void insertIfAbsent(String sql, Object... args) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+            }
+            return null;
+        });
+    }
+
+    private class RollupSynchronization implements TransactionSynchronization {
+
+        private final DailySalesDelta delta = new DailySalesDelta();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!delta.isEmpty()) {
+                apply(delta);
+            }
+        }
+    }
+}
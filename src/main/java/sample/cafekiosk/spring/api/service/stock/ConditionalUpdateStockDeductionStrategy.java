@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@Component
+@RequiredArgsConstructor
+public class ConditionalUpdateStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.CONDITIONAL_UPDATE;
+    }
+
+    /*update ... where quantity >= ? 한번으로 확인과 차감을 원자적으로 처리*/
+    @Override
+    public void deduct(ProductQuantities quantities) {
+        //상품번호 순으로 갱신하여 교착을 피한다
+        for (int i = 0; i < quantities.size(); i++) {
+            if (stockRepository.deductQuantity(quantities.getProductNumber(i), quantities.getQuantity(i)) == 0) {
+                stockRepository.restoreQuantities(quantities, i);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@Component
+public class OptimisticLockStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+    private final int maxAttempts;
+
+    private final LongAdder retryCount = new LongAdder();
+
+    public OptimisticLockStockDeductionStrategy(StockRepository stockRepository,
+        @Value("${cafekiosk.stock.optimistic-lock.max-attempts:100}") int maxAttempts) {
+        this.stockRepository = stockRepository;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.OPTIMISTIC_LOCK;
+    }
+
+    /*읽은 version이 그대로일 때만 차감 -> 다른 주문이 먼저 바꿨다면 다시 읽고 재시도
+     * 예외 대신 update row 수로 충돌을 판단하므로 같은 트랜잭션 안에서 재시도할 수 있다.*/
+    @Override
+    public void deduct(ProductQuantities quantities) {
+        for (int i = 0; i < quantities.size(); i++) {
+            if (!deduct(quantities.getProductNumber(i), quantities.getQuantity(i))) {
+                stockRepository.restoreQuantities(quantities, i);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    //재고가 부족하면 false
+    private boolean deduct(String productNumber, int quantity) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            StockQuantity current = stockRepository.findQuantityByProductNumber(productNumber).orElse(null);
+            if (current == null || current.getQuantity() < quantity) {
+                return false;
+            }
+
+            if (stockRepository.deductQuantityIfVersionMatches(productNumber, quantity,
+                current.getVersion()) == 1) {
+                return true;
+            }
+            retryCount.increment();
+        }
+        throw new IllegalStateException("재고 차감 재시도 횟수를 초과했습니다.");
+    }
+}
@@ -0,0 +1,99 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.jfr.StockLockWaitJfrEvent;
+
+@Component
+@RequiredArgsConstructor
+public class PessimisticLockStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.PESSIMISTIC_LOCK;
+    }
+
+    /*상품번호 순으로 row lock을 잡아 교착을 피하고, 모든 상품을 확인한 뒤 변경감지로 차감*/
+    @Override
+    public void deduct(ProductQuantities quantities) {
+        List<Stock> stocks = lock(quantities.getProductNumbers());
+        if (stocks.size() != quantities.size()) {
+            throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+        }
+        for (Stock stock : stocks) {
+            if (stock.isQuantityLessThan(quantities.get(stock.getProductNumber()))) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+
+        for (Stock stock : stocks) {
+            stock.deductQuantity(quantities.get(stock.getProductNumber()));
+        }
+    }
+
+    /*상품별 stock row를 한번씩만 잠그고, 잠근 수량으로 주문 순서대로 판정한 뒤 받아들인 수량의 합계를 한번에 차감*/
+    @Override
+    public boolean[] deductAll(List<ProductQuantities> quantitiesPerOrder) {
+        ProductQuantities requested = new ProductQuantities();
+        quantitiesPerOrder.forEach(quantities -> quantities.forEach(requested::add));
+
+        //잠근 시점의 남은 수량
+        ProductQuantities remaining = new ProductQuantities(requested.size());
+        if (!requested.isEmpty()) {
+            lock(requested.getProductNumbers())
+                .forEach(stock -> remaining.add(stock.getProductNumber(), stock.getQuantity()));
+        }
+
+        boolean[] admitted = new boolean[quantitiesPerOrder.size()];
+        ProductQuantities accepted = new ProductQuantities(requested.size());
+        for (int i = 0; i < admitted.length; i++) {
+            ProductQuantities quantities = quantitiesPerOrder.get(i);
+            admitted[i] = isAvailable(quantities, remaining);
+            if (admitted[i]) {
+                quantities.forEach((productNumber, quantity) -> {
+                    remaining.add(productNumber, -quantity);
+                    accepted.add(productNumber, quantity);
+                });
+            }
+        }
+
+        for (int i = 0; i < accepted.size(); i++) {
+            if (stockRepository.deductQuantity(accepted.getProductNumber(i), accepted.getQuantity(i)) == 0) {
+                //row를 잠근 채 계산했으므로 일어나지 않아야 한다
+                throw new IllegalStateException("재고 일괄 차감에 실패했습니다.");
+            }
+        }
+        return admitted;
+    }
+
+    //select for update 실행 시간 = row lock 대기 + 조회
+    private List<Stock> lock(List<String> productNumbers) {
+        StockLockWaitJfrEvent lockWait = new StockLockWaitJfrEvent();
+        lockWait.begin();
+        List<Stock> stocks = stockRepository.findAllForUpdateByProductNumberIn(productNumbers);
+        lockWait.end();
+        if (lockWait.shouldCommit()) {
+            lockWait.strategy = getType().name();
+            lockWait.productNumbers = String.join(",", productNumbers);
+            lockWait.lockCount = stocks.size();
+            lockWait.commit();
+        }
+        return stocks;
+    }
+
+    private boolean isAvailable(ProductQuantities quantities, ProductQuantities remaining) {
+        for (int i = 0; i < quantities.size(); i++) {
+            String productNumber = quantities.getProductNumber(i);
+            if (!remaining.contains(productNumber) || remaining.get(productNumber) < quantities.getQuantity(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+
+@Component
+@RequiredArgsConstructor
+public class ReservationStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockReservationEngine stockReservationEngine;
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.RESERVATION;
+    }
+
+    /*선점한 뒤 현재 트랜잭션에서 stock 테이블을 차감 -> 트랜잭션이 롤백되면 엔진이 카운터를 되돌린다*/
+    @Override
+    public void deduct(ProductQuantities quantities) {
+        StockReservation reservation = stockReservationEngine.reserve(quantities);
+        stockReservationEngine.commit(reservation);
+    }
+}
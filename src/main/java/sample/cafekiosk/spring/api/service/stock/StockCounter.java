@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*상품 하나의 메모리 재고 카운터
+ * available : 선점 가능한 수량 (CAS로만 차감)
+ * stock 테이블 반영은 주문 트랜잭션 안에서 하므로, 카운터는 재고가 없는 주문을 DB에 가기 전에 거르는 역할만 한다.
+ * */
+class StockCounter {
+
+    private final AtomicInteger available;
+
+    StockCounter(int available) {
+        this.available = new AtomicInteger(available);
+    }
+
+    boolean tryReserve(int quantity) {
+        int current;
+        do {
+            current = available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    void release(int quantity) {
+        available.addAndGet(quantity);
+    }
+
+    int getAvailable() {
+        return available.get();
+    }
+}
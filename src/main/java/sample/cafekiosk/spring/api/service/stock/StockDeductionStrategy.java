@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.List;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+
+/*재고 차감 동시성 전략
+ * 현재 트랜잭션 안에서 상품번호별 수량을 차감하고, 재고가 부족하면 아무것도 차감하지 않은 채
+ * IllegalArgumentException을 던진다 (일괄 차감에서 실패한 주문만 건너뛸 수 있도록).*/
+public interface StockDeductionStrategy {
+
+    StockDeductionType getType();
+
+    void deduct(ProductQuantities quantities);
+
+    /*여러 주문을 주문 순서대로 차감하고 받아들인 주문 여부를 반환 - 재고가 부족한 주문은 건너뛴다
+     * 기본 구현은 주문마다 deduct를 호출한다.*/
+    default boolean[] deductAll(List<ProductQuantities> quantitiesPerOrder) {
+        boolean[] admitted = new boolean[quantitiesPerOrder.size()];
+        for (int i = 0; i < admitted.length; i++) {
+            ProductQuantities quantities = quantitiesPerOrder.get(i);
+            try {
+                if (!quantities.isEmpty()) {
+                    deduct(quantities);
+                }
+                admitted[i] = true;
+            } catch (IllegalArgumentException e) {
+                admitted[i] = false;
+            }
+        }
+        return admitted;
+    }
+
+    //충돌로 인한 재시도 횟수 (재시도가 없는 전략은 0)
+    default long getRetryCount() {
+        return 0;
+    }
+}
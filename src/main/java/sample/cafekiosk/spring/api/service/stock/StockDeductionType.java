@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockDeductionType {
+
+    RESERVATION("메모리 선점 + 조건부 update"),
+    PESSIMISTIC_LOCK("비관적 락 (select for update)"),
+    OPTIMISTIC_LOCK("낙관적 락 (@Version 재시도)"),
+    CONDITIONAL_UPDATE("조건부 update"),
+    STRIPED_LOCK("JVM 스트라이프 락 대기열"),
+    ;
+
+    private final String text;
+}
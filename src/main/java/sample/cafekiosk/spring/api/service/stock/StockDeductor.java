@@ -0,0 +1,91 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.jfr.StockDeductionJfrEvent;
+
+/*설정(cafekiosk.stock.strategy)으로 고른 재고 차감 전략에 위임*/
+@Component
+public class StockDeductor {
+
+    private final Map<StockDeductionType, StockDeductionStrategy> strategies = new EnumMap<>(
+        StockDeductionType.class);
+    private final StockReservationEngine stockReservationEngine;
+    private final StockRepository stockRepository;
+
+    private final StockDeductionStrategy strategy;
+
+    public StockDeductor(List<StockDeductionStrategy> strategies,
+        StockReservationEngine stockReservationEngine,
+        StockRepository stockRepository,
+        @Value("${cafekiosk.stock.strategy:RESERVATION}") StockDeductionType type) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getType(), strategy));
+        this.stockReservationEngine = stockReservationEngine;
+        this.stockRepository = stockRepository;
+        this.strategy = getStrategy(type);
+    }
+
+    public void deduct(ProductQuantities quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        StockDeductionJfrEvent event = new StockDeductionJfrEvent();
+        event.begin();
+        try {
+            strategy.deduct(quantities);
+            event.outcome = StockDeductionJfrEvent.DEDUCTED;
+        } catch (IllegalArgumentException e) {
+            event.outcome = StockDeductionJfrEvent.REJECTED;
+            throw e;
+        } catch (RuntimeException e) {
+            event.outcome = StockDeductionJfrEvent.FAILED;
+            throw e;
+        } finally {
+            event.end();
+            //기록 중이 아니면 문자열을 만들지 않는다
+            if (event.shouldCommit()) {
+                event.strategy = strategy.getType().name();
+                event.quantities = quantities.toString();
+                event.lineCount = quantities.size();
+                event.commit();
+            }
+        }
+    }
+
+    /*여러 주문을 한번에 차감 - 주문 순서대로 재고가 되는 주문만 받아들이고 받아들인 주문 여부를 반환
+     * 설정된 전략이 처리한다. 비관적 락은 상품별 row를 한번씩만 잠그고, 그 외 전략은 주문마다 차감한다.*/
+    public boolean[] deductAll(List<ProductQuantities> quantitiesPerOrder) {
+        return strategy.deductAll(quantitiesPerOrder);
+    }
+
+    /*취소된 주문의 재고를 되돌린다 (음수 차감)
+     * 메모리 선점 전략은 커밋 후 카운터도 되돌리도록 선점 엔진을 거친다.*/
+    public void restore(ProductQuantities quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        if (strategy.getType() == StockDeductionType.RESERVATION) {
+            stockReservationEngine.restore(quantities);
+            return;
+        }
+        //상품번호 순으로 갱신하여 교착을 피한다
+        stockRepository.restoreQuantities(quantities, quantities.size());
+    }
+
+    public StockDeductionStrategy getStrategy() {
+        return strategy;
+    }
+
+    private StockDeductionStrategy getStrategy(StockDeductionType type) {
+        StockDeductionStrategy found = strategies.get(type);
+        if (found == null) {
+            throw new IllegalArgumentException("지원하지 않는 재고 차감 전략입니다. " + type);
+        }
+        return found;
+    }
+}
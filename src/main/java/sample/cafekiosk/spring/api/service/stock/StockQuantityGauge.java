@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*상품별 남은 재고 gauge (cafekiosk.stock.quantity, productNumber)
+ * scrape마다 DB를 읽지 않도록 상품 목록과 재고는 주기적으로 한번에 읽어 갱신한다. 사라진 상품의 gauge는 함께 지워진다.
+ * 선점 카운터가 있는 상품은 scrape 시점의 카운터(StockReservationEngine)를 읽는다 -> 다음 갱신까지 기다리지 않는다.
+ * */
+@Component
+@ConditionalOnProperty(value = "cafekiosk.metrics.stock-gauge.enabled", havingValue = "true", matchIfMissing = true)
+public class StockQuantityGauge {
+
+    private final StockRepository stockRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final MultiGauge quantities;
+
+    public StockQuantityGauge(StockRepository stockRepository, StockReservationEngine stockReservationEngine,
+        MeterRegistry meterRegistry) {
+        this.stockRepository = stockRepository;
+        this.stockReservationEngine = stockReservationEngine;
+        this.quantities = MultiGauge.builder("cafekiosk.stock.quantity")
+            .description("Remaining stock quantity per product")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.metrics.stock-gauge.refresh-interval-ms:10000}")
+    public void refresh() {
+        List<StockQuantity> stocks = stockRepository.findAllQuantities();
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(stocks.size());
+        for (StockQuantity stock : stocks) {
+            String productNumber = stock.getProductNumber();
+            int quantity = stock.getQuantity();
+            //gauge는 대상 객체를 약한 참조로 잡으므로 bean인 engine을 대상으로 둔다
+            rows.add(MultiGauge.Row.of(Tags.of("productNumber", productNumber), stockReservationEngine,
+                engine -> engine.hasCounter(productNumber) ? engine.getAvailableQuantity(productNumber) : quantity));
+        }
+        quantities.register(rows, true);
+    }
+}
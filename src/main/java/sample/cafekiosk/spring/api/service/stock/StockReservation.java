@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.concurrent.atomic.AtomicReference;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+
+/*선점(reserve)된 재고 묶음
+ * RESERVED -> COMMITTED(stock 테이블 차감) / RELEASED(주문 실패)
+ * COMMITTED -> CANCELED(확정 이후 트랜잭션 롤백)
+ * 확정/해제는 선점할 때 잡은 카운터에 대해 하므로, 그 사이 카운터가 교체되어도 수량이 사라지지 않는다.
+ * */
+public class StockReservation {
+
+    enum State {
+        RESERVED, COMMITTED, RELEASED, CANCELED
+    }
+
+    //선점 이후에는 변경하지 않는다
+    private final ProductQuantities quantities;
+    private final StockCounter[] counters;
+    private final AtomicReference<State> state = new AtomicReference<>(State.RESERVED);
+
+    StockReservation(ProductQuantities quantities, StockCounter[] counters) {
+        this.quantities = quantities;
+        this.counters = counters;
+    }
+
+    public ProductQuantities getQuantities() {
+        return quantities;
+    }
+
+    StockCounter getCounter(int index) {
+        return counters[index];
+    }
+
+    boolean changeState(State expected, State target) {
+        return state.compareAndSet(expected, target);
+    }
+}
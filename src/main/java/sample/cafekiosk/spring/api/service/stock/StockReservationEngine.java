@@ -0,0 +1,178 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.stock.StockReservation.State;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*재고 선점 엔진
+ * 상품번호별 AtomicInteger 카운터를 CAS로 차감하여, 재고가 없는 주문은 DB row lock을 기다리지 않고 바로 거절한다.
+ * 선점에 성공한 주문만 주문 트랜잭션 안에서 stock 테이블을 조건부 update로 차감하므로 재고의 기준은 항상 DB다.
+ * 카운터는 JVM마다 따로 있어 다른 노드의 차감/복원은 보이지 않는다.
+ * 초과판매는 조건부 update가 막지만, 다른 노드가 되돌린 재고는 카운터를 다시 읽을 때까지 팔리지 않으므로 단일 노드 배포를 전제로 한다.
+ * */
+@Slf4j
+@Component
+public class StockReservationEngine {
+
+    private final StockRepository stockRepository;
+
+    private final ConcurrentMap<String, StockCounter> counters = new ConcurrentHashMap<>();
+
+    public StockReservationEngine(StockRepository stockRepository) {
+        this.stockRepository = stockRepository;
+    }
+
+    /*전부 선점하거나, 하나라도 부족하면 앞서 선점한 수량을 되돌리고 예외*/
+    public StockReservation reserve(ProductQuantities quantities) {
+        loadCountersIfAbsent(quantities);
+
+        StockCounter[] reserved = new StockCounter[quantities.size()];
+        for (int i = 0; i < quantities.size(); i++) {
+            StockCounter counter = counters.get(quantities.getProductNumber(i));
+            if (counter == null || !counter.tryReserve(quantities.getQuantity(i))) {
+                releaseCounters(quantities, reserved, i);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            reserved[i] = counter;
+        }
+
+        StockReservation reservation = new StockReservation(quantities, reserved);
+        registerRollbackHook(reservation);
+        return reservation;
+    }
+
+    /*주문 확정 -> 현재 트랜잭션에서 stock 테이블을 차감한다
+     * DB 재고가 카운터보다 적으면 (카운터가 낡음) 카운터를 버리고 선점을 해제한 뒤 예외*/
+    public void commit(StockReservation reservation) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("재고 확정은 주문 트랜잭션 안에서 해야 합니다.");
+        }
+        ProductQuantities quantities = reservation.getQuantities();
+        for (int i = 0; i < quantities.size(); i++) {
+            String productNumber = quantities.getProductNumber(i);
+            if (stockRepository.deductQuantity(productNumber, quantities.getQuantity(i)) == 0) {
+                log.warn("메모리 재고와 DB 재고가 어긋남 productNumber={}", productNumber);
+                counters.remove(productNumber, reservation.getCounter(i));
+                //호출한 쪽이 예외를 잡고 트랜잭션을 이어가도 앞서 차감한 라인이 남지 않도록 되돌린다
+                stockRepository.restoreQuantities(quantities, i);
+                release(reservation);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+        reservation.changeState(State.RESERVED, State.COMMITTED);
+    }
+
+    public void release(StockReservation reservation) {
+        if (reservation.changeState(State.RESERVED, State.RELEASED)) {
+            ProductQuantities quantities = reservation.getQuantities();
+            releaseReservation(quantities, reservation, quantities.size());
+        }
+    }
+
+    /*취소된 주문의 재고 복원
+     * stock 테이블은 현재 트랜잭션에서 바로 더하고, 카운터는 커밋된 뒤에 되돌린다.*/
+    public void restore(ProductQuantities quantities) {
+        StockCounter[] restored = new StockCounter[quantities.size()];
+        for (int i = 0; i < quantities.size(); i++) {
+            String productNumber = quantities.getProductNumber(i);
+            stockRepository.deductQuantity(productNumber, -quantities.getQuantity(i));
+            restored[i] = counters.get(productNumber);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseCounters(quantities, restored, restored.length);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseCounters(quantities, restored, restored.length);
+            }
+        });
+    }
+
+    /*선점 카운터가 올라와 있는 상품인지 (선점 전략으로 한번이라도 주문된 상품)*/
+    public boolean hasCounter(String productNumber) {
+        return counters.containsKey(productNumber);
+    }
+
+    public int getAvailableQuantity(String productNumber) {
+        StockCounter counter = counters.get(productNumber);
+        return counter == null ? 0 : counter.getAvailable();
+    }
+
+    /*메모리 카운터 초기화 - 다음 선점 때 DB에서 다시 읽는다
+     * 진행 중인 선점은 자기 카운터를 들고 있으므로 영향을 받지 않는다.*/
+    public void clear() {
+        counters.clear();
+    }
+
+    private void loadCountersIfAbsent(ProductQuantities quantities) {
+        List<String> missingProductNumbers = null;
+        for (int i = 0; i < quantities.size(); i++) {
+            String productNumber = quantities.getProductNumber(i);
+            if (!counters.containsKey(productNumber)) {
+                if (missingProductNumbers == null) {
+                    missingProductNumbers = new ArrayList<>();
+                }
+                missingProductNumbers.add(productNumber);
+            }
+        }
+        //카운터가 모두 올라와 있으면 (대부분의 주문) 아무것도 만들지 않는다
+        if (missingProductNumbers == null) {
+            return;
+        }
+
+        stockRepository.findAllByProductNumberIn(missingProductNumbers)
+            .forEach(stock -> counters.putIfAbsent(stock.getProductNumber(),
+                new StockCounter(stock.getQuantity())));
+    }
+
+    //선점이 잡고 있는 카운터에 앞에서부터 count개 라인의 선점 수량을 되돌린다 (메모리 카운터만, stock 테이블은 건드리지 않는다)
+    private void releaseReservation(ProductQuantities quantities, StockReservation reservation, int count) {
+        for (int i = 0; i < count; i++) {
+            reservation.getCounter(i).release(quantities.getQuantity(i));
+        }
+    }
+
+    //앞에서부터 count개 라인의 선점 수량을 되돌린다 (카운터가 없던 라인은 건너뛴다)
+    private static void releaseCounters(ProductQuantities quantities, StockCounter[] counters, int count) {
+        for (int i = 0; i < count; i++) {
+            if (counters[i] != null) {
+                counters[i].release(quantities.getQuantity(i));
+            }
+        }
+    }
+
+    private void cancel(StockReservation reservation) {
+        if (reservation.changeState(State.COMMITTED, State.CANCELED)) {
+            ProductQuantities quantities = reservation.getQuantities();
+            releaseReservation(quantities, reservation, quantities.size());
+        }
+    }
+
+    /*트랜잭션이 롤백되면 선점/확정된 수량을 카운터에 되돌린다 (stock 테이블은 함께 롤백된다)*/
+    private void registerRollbackHook(StockReservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                release(reservation);
+                cancel(reservation);
+            }
+        });
+    }
+}
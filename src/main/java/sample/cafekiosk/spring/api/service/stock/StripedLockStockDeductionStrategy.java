@@ -0,0 +1,113 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.jfr.StockLockWaitJfrEvent;
+
+/*상품번호 hash로 나눈 공정(fair) 락에 줄을 세워, 같은 상품의 차감은 JVM 안에서 순서대로 처리한다.
+ * 락은 트랜잭션이 끝날 때까지 유지하여 다음 주문이 커밋된 수량을 보도록 한다.*/
+@Component
+public class StripedLockStockDeductionStrategy implements StockDeductionStrategy {
+
+    private final StockRepository stockRepository;
+    private final ReentrantLock[] stripes;
+
+    public StripedLockStockDeductionStrategy(StockRepository stockRepository,
+        @Value("${cafekiosk.stock.striped-lock.stripes:64}") int stripeCount) {
+        this.stockRepository = stockRepository;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    @Override
+    public StockDeductionType getType() {
+        return StockDeductionType.STRIPED_LOCK;
+    }
+
+    @Override
+    public void deduct(ProductQuantities quantities) {
+        StockLockWaitJfrEvent lockWait = new StockLockWaitJfrEvent();
+        lockWait.begin();
+        ReentrantLock[] locks = lock(stripeIndexes(quantities));
+        lockWait.end();
+        if (lockWait.shouldCommit()) {
+            lockWait.strategy = getType().name();
+            lockWait.productNumbers = String.join(",", quantities.getProductNumbers());
+            lockWait.lockCount = locks.length;
+            lockWait.commit();
+        }
+
+        boolean deferred = unlockAfterCompletion(locks);
+        try {
+            for (int i = 0; i < quantities.size(); i++) {
+                if (stockRepository.deductQuantity(quantities.getProductNumber(i), quantities.getQuantity(i)) == 0) {
+                    stockRepository.restoreQuantities(quantities, i);
+                    throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+                }
+            }
+        } finally {
+            if (!deferred) {
+                unlock(locks);
+            }
+        }
+    }
+
+    //중복 없이 오름차순으로 정렬된 stripe index
+    private int[] stripeIndexes(ProductQuantities quantities) {
+        int[] indexes = new int[quantities.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = stripeIndex(quantities.getProductNumber(i));
+        }
+        Arrays.sort(indexes);
+
+        int distinct = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            if (i == 0 || indexes[i] != indexes[i - 1]) {
+                indexes[distinct++] = indexes[i];
+            }
+        }
+        return distinct == indexes.length ? indexes : Arrays.copyOf(indexes, distinct);
+    }
+
+    private int stripeIndex(String productNumber) {
+        int hash = productNumber.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length;
+    }
+
+    //항상 같은 순서(stripe index 오름차순)로 잡아 교착을 피한다
+    private ReentrantLock[] lock(int[] stripeIndexes) {
+        ReentrantLock[] locks = new ReentrantLock[stripeIndexes.length];
+        for (int i = 0; i < stripeIndexes.length; i++) {
+            locks[i] = stripes[stripeIndexes[i]];
+            locks[i].lock();
+        }
+        return locks;
+    }
+
+    private void unlock(ReentrantLock[] locks) {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private boolean unlockAfterCompletion(ReentrantLock[] locks) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(locks);
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package sample.cafekiosk.spring.api.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*요청 하나의 단계별 처리 시간 (Server-Timing 헤더)
+ * 요청 스레드에 붙은 long 배열에 단계별 nano 시간을 더하기만 한다. (단계 기록마다 객체를 만들지 않는다)
+ * 타이머가 없는 스레드(배치, 스케줄러, 테스트)에서의 기록은 무시된다.
+ * */
+public final class PhaseTimer {
+
+    public enum Phase {
+        PRODUCTS("products"), //상품 조회
+        STOCK("stock"), //재고 차감
+        PERSIST("persist"), //저장, flush, 커밋
+        MAPPING("mapping"), //엔티티 -> 응답 DTO
+        SERIALIZE("serialize"); //응답 JSON 직렬화
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long[] elapsedNanos = new long[PHASES.length];
+
+    private PhaseTimer(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static PhaseTimer start() {
+        PhaseTimer timer = new PhaseTimer(System.nanoTime());
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    static PhaseTimer current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /*startNanos부터 지금까지를 phase에 더하고, 다음 단계의 시작 시각(지금)을 반환*/
+    public static long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.elapsedNanos[phase.ordinal()] += now - startNanos;
+        }
+        return now;
+    }
+
+    /*products;dur=1.20, stock;dur=0.35, ..., total;dur=5.00 (기록되지 않은 단계는 생략)
+     * 헤더 값은 ASCII만 안전하므로 한글 설명(desc)은 넣지 않는다.*/
+    String toServerTiming(long endNanos) {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long elapsed = elapsedNanos[phase.ordinal()];
+            if (elapsed == 0) {
+                continue;
+            }
+            appendMetric(header, phase.getMetricName(), elapsed);
+            header.append(", ");
+        }
+        appendMetric(header, "total", endNanos - startNanos);
+        return header.toString();
+    }
+
+    /*debug 응답용 - 단계 이름 -> ms*/
+    Map<String, Double> toMillis(long endNanos) {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            long elapsed = elapsedNanos[phase.ordinal()];
+            if (elapsed != 0) {
+                millis.put(phase.getMetricName(), toMillis(elapsed));
+            }
+        }
+        millis.put("total", toMillis(endNanos - startNanos));
+        return millis;
+    }
+
+    //소수점 둘째 자리까지 (μs 단위 반올림)
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        long hundredthsOfMillis = (nanos + 5_000) / 10_000;
+        header.append(name).append(";dur=").append(hundredthsOfMillis / 100).append('.');
+        long fraction = hundredthsOfMillis % 100;
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
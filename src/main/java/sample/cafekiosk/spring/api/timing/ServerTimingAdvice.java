@@ -0,0 +1,52 @@
+package sample.cafekiosk.spring.api.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.OrderController;
+import sample.cafekiosk.spring.api.controller.product.ProductController;
+
+/*응답에 Server-Timing 헤더를 단다
+ * 헤더는 body보다 먼저 나가야 하므로 body를 쓰기 직전까지의 단계만 담고, body는 converter가 그대로 스트리밍한다.
+ * (응답 직렬화 시간은 헤더에 넣기 위해 body를 미리 문자열로 만들어야 하므로 재지 않는다)
+ * X-Debug-Timing 헤더가 있으면 같은 내용을 ApiResponse.debug에도 담는다. (debug-enabled일 때만)
+ * */
+@RestControllerAdvice(assignableTypes = {OrderController.class, ProductController.class})
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    static final String DEBUG_HEADER = "X-Debug-Timing";
+
+    private final boolean debugEnabled;
+
+    public ServerTimingAdvice(@Value("${cafekiosk.server-timing.debug-enabled:false}") boolean debugEnabled) {
+        this.debugEnabled = debugEnabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return ApiResponse.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+        Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+        ServerHttpResponse response) {
+        PhaseTimer timer = PhaseTimer.current();
+        if (timer == null || !(body instanceof ApiResponse<?> apiResponse)) {
+            return body;
+        }
+        long endNanos = System.nanoTime();
+        if (debugEnabled && request.getHeaders().containsKey(DEBUG_HEADER)) {
+            apiResponse.setDebug(timer.toMillis(endNanos));
+        }
+        response.getHeaders().add(SERVER_TIMING_HEADER, timer.toServerTiming(endNanos));
+        return body;
+    }
+}
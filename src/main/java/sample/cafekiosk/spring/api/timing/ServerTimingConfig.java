@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.api.timing;
+
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import sample.cafekiosk.spring.api.controller.order.OrderController;
+import sample.cafekiosk.spring.api.controller.product.ProductController;
+
+/*주문/상품 API에 Server-Timing 헤더 (cafekiosk.server-timing.enabled=false면 타이머를 시작하지 않는다)*/
+@Configuration
+@ConditionalOnProperty(value = "cafekiosk.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor(Set.of(OrderController.class, ProductController.class)));
+    }
+}
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/*대상 controller의 요청마다 PhaseTimer를 시작하고, 요청이 끝나면 스레드에서 떼어낸다*/
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    private final Set<Class<?>> controllerTypes;
+
+    public ServerTimingInterceptor(Set<Class<?>> controllerTypes) {
+        this.controllerTypes = controllerTypes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod
+            && controllerTypes.contains(handlerMethod.getBeanType())) {
+            PhaseTimer.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+        Exception ex) {
+        PhaseTimer.clear();
+    }
+}
@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.config.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/*SQL 실행 통계 - DataSource를 proxy로 감싸 JDBC 실행마다 SqlStatementRecorder에 기록한다
+ * (@WebMvcTest에는 올라오지 않도록 filter도 여기서 등록)*/
+@Configuration
+public class SqlMetricsConfig {
+
+    @Bean
+    public SqlStatementRecorder sqlStatementRecorder(MeterRegistry meterRegistry) {
+        return new SqlStatementRecorder(meterRegistry);
+    }
+
+    @Bean
+    public SqlMonitoredAspect sqlMonitoredAspect(SqlStatementRecorder sqlStatementRecorder) {
+        return new SqlMonitoredAspect(sqlStatementRecorder);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(
+        SqlStatementRecorder sqlStatementRecorder) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(
+            new SqlStatisticsFilter(sqlStatementRecorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /*BeanPostProcessor는 다른 bean보다 먼저 만들어지므로 static + ObjectProvider로 recorder를 늦게 가져온다*/
+    @Bean
+    public static BeanPostProcessor sqlRecordingDataSourcePostProcessor(
+        ObjectProvider<SqlStatementRecorder> sqlStatementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(sqlStatementRecorder.getObject())
+                    .build();
+            }
+        };
+    }
+}
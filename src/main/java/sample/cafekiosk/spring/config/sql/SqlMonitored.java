@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.config.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*메서드(또는 클래스의 모든 public 메서드) 실행 동안의 SQL 통계를 cafekiosk.sql.* 메트릭으로 기록한다
+ * kind=service, name=클래스명.메서드명 */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlMonitored {
+}
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.config.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/*@Transactional 바깥에서 감싸야 커밋 시점의 flush(insert/update)까지 센다
+ * 트랜잭션 advisor는 LOWEST_PRECEDENCE -> 그보다 앞선 순서*/
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class SqlMonitoredAspect {
+
+    private final SqlStatementRecorder sqlStatementRecorder;
+
+    @Around("@annotation(sample.cafekiosk.spring.config.sql.SqlMonitored)"
+        + " || @within(sample.cafekiosk.spring.config.sql.SqlMonitored)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+            + "." + joinPoint.getSignature().getName();
+        try (SqlStatementRecorder.Scope ignored = sqlStatementRecorder.start("service", name)) {
+            return joinPoint.proceed();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package sample.cafekiosk.spring.config.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+/*DataSource proxy(datasource-proxy)가 JDBC 실행마다 호출하는 listener
+ * 현재 스레드에 열린 구간(Scope)마다 SQL 통계를 쌓고, 구간이 닫히면 Micrometer로 기록한다.
+ * 구간은 중첩될 수 있다. (HTTP 요청 > 서비스 메서드)
+ *
+ * cafekiosk.sql.executions (counter, type) : 구간과 상관없이 전체 JDBC 실행 수
+ * cafekiosk.sql.statements (summary, kind/name/type) : 구간 하나의 실행 수
+ * cafekiosk.sql.batch.statements, cafekiosk.sql.rows (summary, kind/name) : batch에 담긴 문장 수, 변경 row 수
+ * cafekiosk.sql.time (timer, kind/name) : 구간 하나의 JDBC 실행 시간 합
+ * */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    private static final QueryType[] QUERY_TYPES = QueryType.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<QueryType, Counter> executionCounters = new EnumMap<>(QueryType.class);
+    private final ThreadLocal<Deque<Scope>> scopes = new ThreadLocal<>();
+
+    public SqlStatementRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (QueryType queryType : QUERY_TYPES) {
+            executionCounters.put(queryType, Counter.builder("cafekiosk.sql.executions")
+                .description("JDBC statement executions")
+                .tag("type", tagOf(queryType))
+                .register(meterRegistry));
+        }
+    }
+
+    /*현재 스레드에서 구간을 연다 - 같은 스레드에서 close 해야 한다 (try-with-resources)*/
+    public Scope start(String kind, String name) {
+        Deque<Scope> stack = scopes.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            scopes.set(stack);
+        }
+        Scope scope = new Scope(kind, name);
+        stack.push(scope);
+        return scope;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            executionCounters.get(QueryUtils.getQueryType(queryInfo.getQuery())).increment();
+        }
+
+        Deque<Scope> stack = scopes.get();
+        if (stack == null || stack.isEmpty()) {
+            return;
+        }
+        long rowCount = countRows(execInfo.getResult());
+        for (Scope scope : stack) {
+            SqlStatistics statistics = scope.statistics;
+            for (QueryInfo queryInfo : queryInfoList) {
+                statistics.addStatement(QueryUtils.getQueryType(queryInfo.getQuery()));
+            }
+            if (execInfo.isBatch()) {
+                statistics.addBatch(execInfo.getBatchSize());
+            }
+            statistics.addExecution(rowCount, execInfo.getElapsedTime());
+        }
+    }
+
+    private void publish(Scope scope) {
+        Tags tags = Tags.of("kind", scope.kind, "name", scope.name);
+        SqlStatistics statistics = scope.statistics;
+        for (QueryType queryType : QUERY_TYPES) {
+            DistributionSummary.builder("cafekiosk.sql.statements")
+                .tags(tags.and("type", tagOf(queryType)))
+                .register(meterRegistry)
+                .record(statistics.getCount(queryType));
+        }
+        DistributionSummary.builder("cafekiosk.sql.batch.statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getBatchStatementCount());
+        DistributionSummary.builder("cafekiosk.sql.rows")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getRowCount());
+        Timer.builder("cafekiosk.sql.time")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getJdbcTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    //executeUpdate -> Integer, executeBatch -> int[] (SUCCESS_NO_INFO 등 음수는 제외)
+    private static long countRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        return 0;
+    }
+
+    private static String tagOf(QueryType queryType) {
+        return queryType.name().toLowerCase(Locale.ROOT);
+    }
+
+    public class Scope implements AutoCloseable {
+
+        private final String kind;
+        private String name;
+        private final SqlStatistics statistics = new SqlStatistics();
+        private boolean closed;
+
+        private Scope(String kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        //HTTP 요청은 처리가 끝나야 매핑된 URL 패턴을 알 수 있다
+        void rename(String name) {
+            this.name = name;
+        }
+
+        /*구간이 열려 있는 동안에도 지금까지의 통계를 읽을 수 있다*/
+        public SqlStatistics getStatistics() {
+            return statistics;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Deque<Scope> stack = scopes.get();
+            if (stack != null) {
+                stack.remove(this);
+                if (stack.isEmpty()) {
+                    scopes.remove();
+                }
+            }
+            publish(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package sample.cafekiosk.spring.config.sql;
+
+import lombok.Getter;
+import net.ttddyy.dsproxy.QueryType;
+
+/*한 구간(HTTP 요청, 서비스 메서드, 테스트)에서 실행된 SQL 통계
+ * 문장 수는 JDBC 실행(DB 왕복) 기준이다. batch는 한번으로 세고, batch에 담긴 문장 수는 따로 센다.
+ * 구간을 연 스레드에서만 갱신된다.*/
+@Getter
+public class SqlStatistics {
+
+    private int selectCount;
+    private int insertCount;
+    private int updateCount;
+    private int deleteCount;
+    private int otherCount;
+
+    private int batchCount;
+    private int batchStatementCount;
+
+    //insert/update/delete가 변경한 row 수
+    private long rowCount;
+    private long jdbcTimeMillis;
+
+    void addStatement(QueryType queryType) {
+        switch (queryType) {
+            case SELECT -> selectCount++;
+            case INSERT -> insertCount++;
+            case UPDATE -> updateCount++;
+            case DELETE -> deleteCount++;
+            default -> otherCount++;
+        }
+    }
+
+    void addBatch(int batchSize) {
+        batchCount++;
+        batchStatementCount += batchSize;
+    }
+
+    void addExecution(long rowCount, long jdbcTimeMillis) {
+        this.rowCount += rowCount;
+        this.jdbcTimeMillis += jdbcTimeMillis;
+    }
+
+    public int getStatementCount() {
+        return selectCount + insertCount + updateCount + deleteCount + otherCount;
+    }
+
+    public int getCount(QueryType queryType) {
+        return switch (queryType) {
+            case SELECT -> selectCount;
+            case INSERT -> insertCount;
+            case UPDATE -> updateCount;
+            case DELETE -> deleteCount;
+            default -> otherCount;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "select=" + selectCount + ", insert=" + insertCount + ", update=" + updateCount
+            + ", delete=" + deleteCount + ", other=" + otherCount + ", batch=" + batchCount
+            + "(" + batchStatementCount + "), rows=" + rowCount + ", jdbcTime=" + jdbcTimeMillis + "ms";
+    }
+}
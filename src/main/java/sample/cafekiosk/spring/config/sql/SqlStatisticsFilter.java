@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.config.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/*HTTP 요청 하나에서 실행된 SQL 통계 (kind=http, name="GET /api/v1/orders/{orderId}")
+ * 이름은 매핑된 URL 패턴을 쓴다. (path variable마다 메트릭이 생기지 않도록)*/
+@RequiredArgsConstructor
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlStatementRecorder sqlStatementRecorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementRecorder.Scope scope = sqlStatementRecorder.start("http", UNMAPPED);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.rename(request.getMethod() + " " + bestMatchingPattern(request));
+            scope.close();
+        }
+    }
+
+    private static String bestMatchingPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMAPPED : pattern.toString();
+    }
+}
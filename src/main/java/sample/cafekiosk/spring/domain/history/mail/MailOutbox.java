@@ -0,0 +1,82 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/*보낼 메일 (transactional outbox)
+ * 요청 쪽은 insert만 하고, 실제 전송은 MailOutboxDispatcher가 백그라운드에서 재시도하며 처리한다.
+ * */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_mail_outbox_status_next_attempt_date_time",
+    columnList = "status, next_attempt_date_time"))
+public class MailOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fromEmail;
+
+    private String toEmail;
+
+    private String subject;
+
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private MailOutboxStatus status;
+
+    private int attemptCount;
+
+    /*이 시각 이후에 전송(재시도)할 수 있다. 전송 중에는 lease 만료 시각으로 쓰인다.*/
+    private LocalDateTime nextAttemptDateTime;
+
+    @Builder
+    private MailOutbox(String fromEmail, String toEmail, String subject, String content,
+        LocalDateTime nextAttemptDateTime) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+        this.status = MailOutboxStatus.PENDING;
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    public void markSent() {
+        this.status = MailOutboxStatus.SENT;
+    }
+
+    public void retryAt(LocalDateTime nextAttemptDateTime) {
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    public void markFailed() {
+        this.status = MailOutboxStatus.FAILED;
+    }
+
+    public MailSendHistory toHistory() {
+        return MailSendHistory.builder()
+            .fromEmail(fromEmail)
+            .toEmail(toEmail)
+            .subject(subject)
+            .content(content)
+            .build();
+    }
+}
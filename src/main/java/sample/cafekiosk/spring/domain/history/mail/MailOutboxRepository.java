@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    @Query("select m.id from MailOutbox m where m.status = :status and m.nextAttemptDateTime <= :now order by m.id")
+    List<Long> findDispatchableIds(MailOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    /*전송할 메일을 선점 - 시도 횟수를 올리고 lease를 건다. 다른 dispatcher가 먼저 가져갔으면 0을 반환*/
+    @Modifying(clearAutomatically = true)
+    @Query("update MailOutbox m set m.attemptCount = m.attemptCount + 1, m.nextAttemptDateTime = :leaseUntil"
+        + " where m.id = :id and m.status = :status and m.nextAttemptDateTime <= :now")
+    int claim(Long id, MailOutboxStatus status, LocalDateTime now, LocalDateTime leaseUntil);
+
+    List<MailOutbox> findAllByStatus(MailOutboxStatus status);
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailOutboxStatus {
+
+    PENDING("전송 대기"),
+    SENT("전송 완료"),
+    FAILED("전송 실패");
+
+    private final String text;
+}
@@ -7,16 +7,26 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
@@ -24,14 +34,20 @@ import sample.cafekiosk.spring.domain.product.Product;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_status_registered_date_time", columnList = "order_status, registered_date_time"),
+    @Index(name = "idx_orders_registered_date_time_id", columnList = "registered_date_time, id")
+})
 public class Order extends BaseEntity {
 
+    /*IDENTITY는 persist 즉시 insert되어 JDBC batch가 꺼지므로, pooled 시퀀스로 id를 미리 할당한다*/
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private OrderStatus orderStatus;
 
     private int totalPrice;
@@ -41,15 +57,20 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderProduct> orderProducts = new ArrayList<>();
 
+    /*처음 save할 때 생성 이벤트를 한번만 발행한다
+     * 이후의 상태 변경은 OrderStatusService가 일괄 update 후 직접 발행한다.*/
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean creationEventPending;
+
     @Builder
     public Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime
         ) {
         this.orderStatus = orderStatus;
         this.totalPrice = calculateTotalPrice(products);
         this.registeredDateTime = registeredDateTime;
-        this.orderProducts = products.stream()
-            .map(product -> new OrderProduct(this, product))
-            .collect(Collectors.toList());
+        this.orderProducts = createOrderProducts(products);
+        this.creationEventPending = true;
     }
 
 
@@ -61,9 +82,54 @@ public class Order extends BaseEntity {
             .build();
     }
 
-    private int calculateTotalPrice(List<Product> products) {
+    static int calculateTotalPrice(List<Product> products) {
         return products.stream()
             .mapToInt(Product::getPrice)
             .sum();
     }
+
+    /*같은 상품번호는 하나의 주문 라인으로 묶고 수량을 센다 (처음 주문된 순서 유지)*/
+    private List<OrderProduct> createOrderProducts(List<Product> products) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        Map<String, Product> productMap = new HashMap<>();
+        for (Product product : products) {
+            quantities.merge(product.getProductNumber(), 1, Integer::sum);
+            productMap.putIfAbsent(product.getProductNumber(), product);
+        }
+
+        List<OrderProduct> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((productNumber, quantity) ->
+            lines.add(new OrderProduct(this, productMap.get(productNumber), quantity)));
+        return lines;
+    }
+
+    /*repository.save 이후 Spring Data가 발행 -> 일별 매출 집계 등에서 구독
+     * id가 할당된 뒤 만들어지도록 발행 시점에 이벤트를 생성한다.*/
+    @DomainEvents
+    protected Collection<OrderStatusChangedEvent> domainEvents() {
+        if (!creationEventPending) {
+            return List.of();
+        }
+        return List.of(OrderStatusChangedEvent.builder()
+            .orderId(id)
+            .registeredDateTime(registeredDateTime)
+            .orderStatus(orderStatus)
+            .totalPrice(totalPrice)
+            .lines(toEventLines())
+            .build());
+    }
+
+    @AfterDomainEventPublication
+    protected void clearDomainEvents() {
+        creationEventPending = false;
+    }
+
+    private List<OrderStatusChangedEvent.Line> toEventLines() {
+        List<OrderStatusChangedEvent.Line> lines = new ArrayList<>(orderProducts.size());
+        for (OrderProduct orderProduct : orderProducts) {
+            lines.add(new OrderStatusChangedEvent.Line(orderProduct.getProduct().getProductNumber(),
+                orderProduct.getQuantity(), orderProduct.getTotalPrice()));
+        }
+        return lines;
+    }
 }
@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.domain.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/*Idempotency-Key로 이미 처리한 주문 요청
+ * 주문과 같은 트랜잭션에서 저장되고, key의 unique 제약으로 여러 서버에서 동시에 들어온 재시도도 한건만 남긴다.
+ * 생성 시각(created_dated_time) 기준으로 ttl이 지나면 지워진다.
+ * */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_key", columnNames = "idempotency_key"),
+    indexes = @Index(name = "idx_order_idempotency_created_dated_time", columnList = "created_dated_time"))
+public class OrderIdempotency extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    private Long orderId;
+
+    //같은 key로 다른 주문을 보내는 실수를 막기 위한 요청 SHA-256 (hex)
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Builder
+    private OrderIdempotency(String idempotencyKey, Long orderId, String requestHash) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+    }
+}
@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderIdempotencyRepository extends JpaRepository<OrderIdempotency, Long> {
+
+    Optional<OrderIdempotency> findByIdempotencyKey(String idempotencyKey);
+
+    /*엔티티를 읽지 않고 한번에 삭제 - 삭제한 row 수를 반환*/
+    @Transactional
+    @Modifying
+    @Query("delete from OrderIdempotency i where i.createdDatedTime < :createdBefore")
+    int deleteAllCreatedBefore(LocalDateTime createdBefore);
+}
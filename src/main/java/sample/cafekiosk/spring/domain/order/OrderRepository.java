@@ -1,9 +1,18 @@
 package sample.cafekiosk.spring.domain.order;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +21,56 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     //TODO TEST
     @Query("select o from Order o where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime" + " and o.orderStatus = :orderStatus")
     List<Order> findOrdersBy(LocalDateTime startDateTime,LocalDateTime endDateTime,OrderStatus orderStatus);
+
+    /*합계는 DB에서 계산 -> 엔티티를 하나도 올리지 않는다*/
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderSalesTotal(count(o), sum(o.totalPrice))"
+        + " from Order o where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime"
+        + " and o.orderStatus = :orderStatus")
+    OrderSalesTotal sumOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    /*projection을 fetch size 단위로 흘려보낸다 (읽기 전용, 영속성 컨텍스트에 쌓이지 않음)
+     * 트랜잭션 안에서 호출하고 try-with-resources로 닫아야 한다.*/
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o.id as id, o.totalPrice as totalPrice, o.registeredDateTime as registeredDateTime"
+        + " from Order o where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime"
+        + " and o.orderStatus = :orderStatus")
+    Stream<OrderSummary> streamOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+        OrderStatus orderStatus);
+
+    /*주문 상세 - 주문 상품과 상품을 entity graph로 한번에 (left join)
+     * 응답을 다시 만들 때 상품을 따로 조회하지 않는다.*/
+    @EntityGraph(attributePaths = {"orderProducts", "orderProducts.product"})
+    Optional<Order> findWithOrderProductsById(Long id);
+
+    /*주문 내역 1단계 - 최신순 keyset 페이지의 id만 (컬렉션 fetch join은 DB에서 페이징할 수 없으므로 나눈다)
+     * id는 pooled 시퀀스라 서버마다 미리 받은 블록에서 나오므로 주문 순서와 맞지 않는다 -> (주문 시각, id) 순으로 읽는다.
+     * (registeredDateTime, id) < (cursor) 를 <= 범위 조건과 나눠 써서 (registered_date_time, id) 인덱스를 범위로 탄다.*/
+    @Query("select o.id from Order o"
+        + " where o.registeredDateTime <= :registeredDateTime"
+        + " and (o.registeredDateTime < :registeredDateTime or o.id < :id)"
+        + " order by o.registeredDateTime desc, o.id desc")
+    List<Long> findIdsBefore(LocalDateTime registeredDateTime, Long id, Pageable pageable);
+
+    /*주문 내역 첫 페이지*/
+    @Query("select o.id from Order o order by o.registeredDateTime desc, o.id desc")
+    List<Long> findLatestIds(Pageable pageable);
+
+    /*주문 내역 2단계 - 고른 주문들을 주문 상품, 상품과 함께 한번에*/
+    @EntityGraph(attributePaths = {"orderProducts", "orderProducts.product"})
+    @Query("select o from Order o where o.id in :ids order by o.registeredDateTime desc, o.id desc")
+    List<Order> findAllWithOrderProductsByIdIn(Collection<Long> ids);
+
+    @Query("select o.id as id, o.orderStatus as orderStatus, o.totalPrice as totalPrice,"
+        + " o.registeredDateTime as registeredDateTime from Order o where o.id in :ids")
+    List<OrderStatusSummary> findStatusSummariesByIdIn(Collection<Long> ids);
+
+    /*읽은 상태(currentStatus)가 그대로인 주문만 변경하고, 변경된 row 수를 반환*/
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :orderStatus, o.modifiedDateTime = :modifiedDateTime"
+        + " where o.id in :ids and o.orderStatus = :currentStatus")
+    int updateOrderStatus(Collection<Long> ids, OrderStatus currentStatus, OrderStatus orderStatus,
+        LocalDateTime modifiedDateTime);
 }
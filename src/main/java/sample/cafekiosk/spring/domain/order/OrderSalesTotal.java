@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+/*DB에서 계산한 주문 수 / 매출 합계*/
+@Getter
+public class OrderSalesTotal {
+
+    private final long orderCount;
+    private final long totalAmount;
+
+    public OrderSalesTotal(Long orderCount, Long totalAmount) {
+        this.orderCount = orderCount == null ? 0 : orderCount;
+        this.totalAmount = totalAmount == null ? 0 : totalAmount;
+    }
+}
@@ -1,5 +1,9 @@
 package sample.cafekiosk.spring.domain.order;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -14,6 +18,30 @@ public enum OrderStatus {
     RECEIVED("주문접수"),
     COMPLETED("처리완료");
 
+    /*상태 전이 규칙
+     * INIT -> PAYMENT_COMPLETED -> RECEIVED -> COMPLETED
+     * 제조 전(INIT, PAYMENT_COMPLETED)에는 취소할 수 있고, 결제 실패는 INIT에서만 일어난다.
+     * CANCELED, PAYMENT_FAILED, COMPLETED는 더 이상 바뀌지 않는다.
+     * */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(INIT, EnumSet.of(PAYMENT_COMPLETED, PAYMENT_FAILED, CANCELED));
+        TRANSITIONS.put(PAYMENT_COMPLETED, EnumSet.of(RECEIVED, CANCELED));
+        TRANSITIONS.put(RECEIVED, EnumSet.of(COMPLETED));
+        TRANSITIONS.put(CANCELED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(PAYMENT_FAILED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+    }
+
     private final String text;
 
+    public boolean canChangeTo(OrderStatus orderStatus) {
+        return orderStatus != null && TRANSITIONS.get(this).contains(orderStatus);
+    }
+
+    /*주문이 취소/결제 실패로 끝나면 주문 생성 때 차감한 재고를 되돌린다*/
+    public boolean isStockRestored() {
+        return this == CANCELED || this == PAYMENT_FAILED;
+    }
 }
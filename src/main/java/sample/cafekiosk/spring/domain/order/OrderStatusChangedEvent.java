@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/*주문 상태 변경 이벤트 (생성 시에는 previousStatus가 null)
+ * 엔티티 대신 값만 담아, 엔티티를 읽지 않는 일괄 상태 변경에서도 같은 이벤트를 쓴다.*/
+@Getter
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final LocalDateTime registeredDateTime;
+    private final OrderStatus previousStatus;
+    private final OrderStatus orderStatus;
+    private final int totalPrice;
+    private final List<Line> lines;
+
+    @Builder
+    private OrderStatusChangedEvent(Long orderId, LocalDateTime registeredDateTime,
+        OrderStatus previousStatus, OrderStatus orderStatus, int totalPrice, List<Line> lines) {
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+        this.previousStatus = previousStatus;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.lines = lines;
+    }
+
+    @Getter
+    public static class Line {
+
+        private final String productNumber;
+        private final int quantity;
+        private final int totalPrice;
+
+        public Line(String productNumber, int quantity, int totalPrice) {
+            this.productNumber = productNumber;
+            this.quantity = quantity;
+            this.totalPrice = totalPrice;
+        }
+    }
+}
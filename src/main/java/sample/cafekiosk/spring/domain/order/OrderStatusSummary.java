@@ -0,0 +1,7 @@
+package sample.cafekiosk.spring.domain.order;
+
+/*상태 변경용 주문 projection - 엔티티를 올리지 않고 현재 상태와 매출 집계에 필요한 값만 읽는다*/
+public interface OrderStatusSummary extends OrderSummary {
+
+    OrderStatus getOrderStatus();
+}
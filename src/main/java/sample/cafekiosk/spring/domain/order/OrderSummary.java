@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+
+/*통계용 주문 projection - 주문 상품 없이 금액과 시각만 읽는다*/
+public interface OrderSummary {
+
+    Long getId();
+
+    int getTotalPrice();
+
+    LocalDateTime getRegisteredDateTime();
+}
@@ -3,8 +3,12 @@ package sample.cafekiosk.spring.domain.orderproduct;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,13 +16,16 @@ import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.product.Product;
 
+/*주문 라인 - 같은 상품은 한 row에 수량과 주문 당시 단가로 담는다*/
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(indexes = @Index(name = "idx_order_product_order_id", columnList = "order_id"))
 public class OrderProduct extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_product_seq_generator")
+    @SequenceGenerator(name = "order_product_seq_generator", sequenceName = "order_product_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,8 +34,18 @@ public class OrderProduct extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
-    public OrderProduct(Order order, Product product) {
+    private int quantity;
+
+    private int price;
+
+    public OrderProduct(Order order, Product product, int quantity) {
         this.order = order;
         this.product = product;
+        this.quantity = quantity;
+        this.price = product.getPrice();
+    }
+
+    public int getTotalPrice() {
+        return price * quantity;
     }
 }
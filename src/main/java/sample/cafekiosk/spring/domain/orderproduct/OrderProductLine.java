@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.domain.orderproduct;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/*주문 라인 projection - 상태 변경 시 재고 복원과 매출 집계 이벤트에 쓴다*/
+@Getter
+public class OrderProductLine {
+
+    private final Long orderId;
+    private final String productNumber;
+    private final ProductType productType;
+    private final int quantity;
+    private final int price;
+
+    public OrderProductLine(Long orderId, String productNumber, ProductType productType, int quantity,
+        int price) {
+        this.orderId = orderId;
+        this.productNumber = productNumber;
+        this.productType = productType;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public int getTotalPrice() {
+        return price * quantity;
+    }
+}
@@ -1,9 +1,29 @@
 package sample.cafekiosk.spring.domain.orderproduct;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 @Repository
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
 
+    /*상품별 판매 수량 / 매출을 DB에서 group by로 계산*/
+    @Query("select new sample.cafekiosk.spring.domain.orderproduct.ProductSalesTotal("
+        + "p.productNumber, sum(op.quantity), sum(op.price * op.quantity))"
+        + " from OrderProduct op join op.order o join op.product p"
+        + " where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime"
+        + " and o.orderStatus = :orderStatus"
+        + " group by p.productNumber order by p.productNumber")
+    List<ProductSalesTotal> sumProductSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+        OrderStatus orderStatus);
+
+    @Query("select new sample.cafekiosk.spring.domain.orderproduct.OrderProductLine("
+        + "op.order.id, p.productNumber, p.type, op.quantity, op.price)"
+        + " from OrderProduct op join op.product p"
+        + " where op.order.id in :orderIds order by op.order.id, op.id")
+    List<OrderProductLine> findLinesByOrderIdIn(Collection<Long> orderIds);
 }
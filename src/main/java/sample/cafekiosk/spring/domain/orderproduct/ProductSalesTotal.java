@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.orderproduct;
+
+import lombok.Getter;
+
+/*DB에서 상품별로 묶어 계산한 판매 수량 / 매출 합계*/
+@Getter
+public class ProductSalesTotal {
+
+    private final String productNumber;
+    private final long quantity;
+    private final long totalAmount;
+
+    public ProductSalesTotal(String productNumber, Long quantity, Long totalAmount) {
+        this.productNumber = productNumber;
+        this.quantity = quantity == null ? 0 : quantity;
+        this.totalAmount = totalAmount == null ? 0 : totalAmount;
+    }
+}
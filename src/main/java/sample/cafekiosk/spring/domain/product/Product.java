@@ -1,33 +1,58 @@
 package sample.cafekiosk.spring.domain.product;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
 import sample.cafekiosk.spring.domain.BaseEntity;
 
+/*상품번호는 주문마다 in 조회되므로 unique 인덱스로 찾는다
+ * 상품 목록(keyset 페이지)은 필터 컬럼 + id 순으로 인덱스를 따라 읽는다
+ * 주문마다 읽히지만 거의 바뀌지 않으므로 2차 캐시에 둔다 (변경은 커밋 시 캐시에 반영)
+ * 상품번호는 업무 키(natural id) -> 상품번호 -> id 매핑도 캐싱해 영속성 컨텍스트/2차 캐시에서 먼저 찾는다*/
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
+@NaturalIdCache(region = "product-natural-id")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "product_number"),
+    indexes = {
+        @Index(name = "idx_product_selling_status_id", columnList = "selling_status, id"),
+        @Index(name = "idx_product_type_id", columnList = "type, id")
+    })
 public class Product extends BaseEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     private String productNumber;
 
-
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private ProductType type;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private ProductSellingStatus sellingStatus;
 
     private int price;
@@ -43,4 +68,8 @@ public class Product extends BaseEntity {
         this.price = price;
         this.name = name;
     }
+
+    public void changeSellingStatus(ProductSellingStatus sellingStatus) {
+        this.sellingStatus = sellingStatus;
+    }
 }
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*상품번호 채번 테이블 - 노드들이 nextValue를 blockSize만큼 올려가며 번호 구간을 빌려간다*/
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductNumberSequence {
+
+    @Id
+    private String name;
+
+    private long nextValue;
+
+    public ProductNumberSequence(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, String> {
+
+    /*row lock을 잡고 blockSize만큼 증가 -> 반영된 row 수 반환 (0이면 아직 채번 row가 없음)*/
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProductNumberSequence s set s.nextValue = s.nextValue + :blockSize where s.name = :name")
+    int increaseNextValue(String name, long blockSize);
+
+    /*merge(save)는 다른 노드가 만든 row를 덮어쓸 수 있으므로 insert만 시도 (중복이면 예외)*/
+    @Modifying
+    @Query(value = "insert into product_number_sequence (name, next_value) values (:name, :nextValue)", nativeQuery = true)
+    int insert(String name, long nextValue);
+
+    @Query("select s.nextValue from ProductNumberSequence s where s.name = :name")
+    Optional<Long> findNextValue(String name);
+}
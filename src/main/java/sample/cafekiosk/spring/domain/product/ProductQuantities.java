@@ -0,0 +1,124 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/*상품번호 -> 수량 (int)
+ * Map<String, Integer>처럼 수량을 boxing하지 않고, 상품번호 순으로 정렬된 두 배열에 담는다.
+ * 주문 라인은 보통 몇 개뿐이므로 이진 탐색 + 삽입으로 충분하고, 생성 비용은 객체 1개 + 배열 2개로 일정하다.
+ * 항상 상품번호 순으로 순회되므로 lock 순서를 맞추기 위한 정렬이 따로 필요 없다.
+ * */
+public final class ProductQuantities {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private String[] productNumbers;
+    private int[] quantities;
+    private int size;
+
+    public ProductQuantities() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProductQuantities(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        this.productNumbers = new String[capacity];
+        this.quantities = new int[capacity];
+    }
+
+    public static ProductQuantities of(Map<String, Integer> quantities) {
+        ProductQuantities productQuantities = new ProductQuantities(quantities.size());
+        quantities.forEach(productQuantities::add);
+        return productQuantities;
+    }
+
+    /*같은 상품번호는 수량을 더한다*/
+    public void add(String productNumber, int quantity) {
+        int index = indexOf(productNumber);
+        if (index >= 0) {
+            quantities[index] += quantity;
+            return;
+        }
+
+        int insertionPoint = -(index + 1);
+        if (size == productNumbers.length) {
+            grow();
+        }
+        System.arraycopy(productNumbers, insertionPoint, productNumbers, insertionPoint + 1, size - insertionPoint);
+        System.arraycopy(quantities, insertionPoint, quantities, insertionPoint + 1, size - insertionPoint);
+        productNumbers[insertionPoint] = productNumber;
+        quantities[insertionPoint] = quantity;
+        size++;
+    }
+
+    /*없는 상품번호는 0*/
+    public int get(String productNumber) {
+        int index = indexOf(productNumber);
+        return index >= 0 ? quantities[index] : 0;
+    }
+
+    public boolean contains(String productNumber) {
+        return indexOf(productNumber) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getProductNumber(int index) {
+        checkIndex(index);
+        return productNumbers[index];
+    }
+
+    public int getQuantity(int index) {
+        checkIndex(index);
+        return quantities[index];
+    }
+
+    /*상품번호 순*/
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(productNumbers[i], quantities[i]);
+        }
+    }
+
+    /*in 조회용 상품번호 목록 (상품번호 순, 수정 불가)*/
+    public List<String> getProductNumbers() {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(productNumbers, size)));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(productNumbers[i]).append('=').append(quantities[i]);
+        }
+        return builder.append('}').toString();
+    }
+
+    private int indexOf(String productNumber) {
+        return Arrays.binarySearch(productNumbers, 0, size, productNumber);
+    }
+
+    private void grow() {
+        int capacity = productNumbers.length * 2;
+        productNumbers = Arrays.copyOf(productNumbers, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.List;
+
+public interface ProductQueryRepository {
+
+    /*keyset(seek) 페이지 - id가 lastId보다 큰 상품을 id 순으로 limit개까지
+     * offset 없이 인덱스에서 바로 다음 위치를 찾으므로 뒤 페이지로 가도 비용이 같다.*/
+    List<ProductSummary> findSummariesAfter(ProductSearchCondition condition, Long lastId, int limit);
+
+    /*상품번호(natural id)로 multi-load - 결과는 전달한 상품번호 순서와 같고, 없는 상품번호 자리는 null
+     * 영속성 컨텍스트에 이미 있는 상품은 다시 조회하지 않고, 나머지는 in 조회로 묶어서 읽는다.*/
+    List<Product> findAllByProductNumbers(List<String> productNumbers);
+}
@@ -0,0 +1,117 @@
+package sample.cafekiosk.spring.domain.product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+/*필터마다 where 절을 조합 -> 주어진 조건만 쿼리에 들어가 (:x is null or ...) 없이 인덱스를 탄다*/
+@RequiredArgsConstructor
+public class ProductQueryRepositoryImpl implements ProductQueryRepository {
+
+    private final EntityManager entityManager;
+
+    /*in (A, B) order by id는 (상태, id) / (타입, id) 인덱스 순서와 맞지 않아 조건에 맞는 row를 모두 읽어 정렬해야 한다.
+     * 값이 여럿이면 값마다 = 조건으로 인덱스 순서대로 limit개씩 seek 하고, id 순으로 합쳐 limit개를 자른다.*/
+    @Override
+    public List<ProductSummary> findSummariesAfter(ProductSearchCondition condition, Long lastId, int limit) {
+        if (size(condition.getSellingStatuses()) > 1) {
+            return merge(condition.getSellingStatuses().stream()
+                .distinct()
+                .map(sellingStatus -> seek(condition, condition.getTypes(), List.of(sellingStatus), lastId, limit))
+                .collect(Collectors.toList()), limit);
+        }
+        if (size(condition.getTypes()) > 1) {
+            return merge(condition.getTypes().stream()
+                .distinct()
+                .map(type -> seek(condition, List.of(type), condition.getSellingStatuses(), lastId, limit))
+                .collect(Collectors.toList()), limit);
+        }
+        return seek(condition, condition.getTypes(), condition.getSellingStatuses(), lastId, limit);
+    }
+
+    /*natural id multi-load는 ordered return을 지원하지 않으므로 (UnsupportedOperationException)
+     * 중복 없이 읽은 뒤 요청한 순서대로 다시 채운다.*/
+    @Override
+    public List<Product> findAllByProductNumbers(List<String> productNumbers) {
+        List<Product> loaded = entityManager.unwrap(Session.class)
+            .byMultipleNaturalId(Product.class)
+            .multiLoad(new ArrayList<>(new LinkedHashSet<>(productNumbers)));
+
+        Map<String, Product> productMap = new HashMap<>(loaded.size() * 2);
+        for (Product product : loaded) {
+            if (product != null) {
+                productMap.put(product.getProductNumber(), product);
+            }
+        }
+        List<Product> products = new ArrayList<>(productNumbers.size());
+        for (String productNumber : productNumbers) {
+            products.add(productMap.get(productNumber));
+        }
+        return products;
+    }
+
+    private List<ProductSummary> seek(ProductSearchCondition condition, List<ProductType> types,
+        List<ProductSellingStatus> sellingStatuses, Long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> product = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (lastId != null) {
+            predicates.add(cb.greaterThan(product.get("id"), lastId));
+        }
+        if (size(types) == 1) {
+            predicates.add(cb.equal(product.get("type"), types.get(0)));
+        } else if (size(types) > 1) {
+            predicates.add(product.get("type").in(types));
+        }
+        if (size(sellingStatuses) == 1) {
+            predicates.add(cb.equal(product.get("sellingStatus"), sellingStatuses.get(0)));
+        } else if (size(sellingStatuses) > 1) {
+            predicates.add(product.get("sellingStatus").in(sellingStatuses));
+        }
+        if (condition.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), condition.getMinPrice()));
+        }
+        if (condition.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), condition.getMaxPrice()));
+        }
+
+        query.select(cb.construct(ProductSummary.class,
+                product.get("id"),
+                product.get("productNumber"),
+                product.get("type"),
+                product.get("sellingStatus"),
+                product.get("price"),
+                product.get("name")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.asc(product.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    private static List<ProductSummary> merge(List<List<ProductSummary>> pages, int limit) {
+        return pages.stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparing(ProductSummary::getId))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private static int size(List<?> values) {
+        return values == null ? 0 : values.size();
+    }
+}
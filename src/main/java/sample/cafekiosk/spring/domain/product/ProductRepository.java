@@ -1,17 +1,20 @@
 package sample.cafekiosk.spring.domain.product;
 
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductQueryRepository {
 
     List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingTypes);
 
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
+    Optional<Product> findByProductNumber(String productNumber);
+
     /*native query*/
     @Query(value = "select p.product_number from product p order by id desc limit 1", nativeQuery = true)
     String findLatestProductNumber();
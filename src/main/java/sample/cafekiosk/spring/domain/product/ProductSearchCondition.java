@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/*상품 목록 필터 - 비어 있는(null) 조건은 where 절에서 빠진다*/
+@Getter
+public class ProductSearchCondition {
+
+    private final List<ProductType> types;
+    private final List<ProductSellingStatus> sellingStatuses;
+    private final Integer minPrice;
+    private final Integer maxPrice;
+
+    @Builder
+    private ProductSearchCondition(List<ProductType> types, List<ProductSellingStatus> sellingStatuses,
+        Integer minPrice, Integer maxPrice) {
+        this.types = types;
+        this.sellingStatuses = sellingStatuses;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+}
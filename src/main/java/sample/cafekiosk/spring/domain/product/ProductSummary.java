@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.Getter;
+
+/*상품 목록용 projection - 엔티티로 올리지 않고(영속성 컨텍스트/dirty checking 없음) 컬럼 값만 읽는다*/
+@Getter
+public class ProductSummary {
+
+    private final Long id;
+    private final String productNumber;
+    private final ProductType type;
+    private final ProductSellingStatus sellingStatus;
+    private final int price;
+    private final String name;
+
+    public ProductSummary(Long id, String productNumber, ProductType type, ProductSellingStatus sellingStatus,
+        int price, String name) {
+        this.id = id;
+        this.productNumber = productNumber;
+        this.type = type;
+        this.sellingStatus = sellingStatus;
+        this.price = price;
+        this.name = name;
+    }
+}
@@ -1,6 +1,6 @@
 package sample.cafekiosk.spring.domain.product;
 
-import java.util.List;
+import java.util.EnumSet;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -12,9 +12,12 @@ public enum ProductType {
     BAKERY("베이커리"),
     ;
 
+    //재고 관리 대상 (EnumSet은 ordinal bit 검사라 호출마다 할당/순회가 없다)
+    private static final EnumSet<ProductType> STOCK_TYPES = EnumSet.of(BOTTLE, BAKERY);
+
     private final String text;
 
     public static boolean containsStockType(ProductType type) {
-        return List.of(BOTTLE, BAKERY).contains(type);
+        return type != null && STOCK_TYPES.contains(type);
     }
 }
@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/*일자 + 주문상태별 주문 수 / 매출 합계 (주문 상태가 바뀔 때마다 증감으로 갱신)*/
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_daily_order_sales", columnNames = {"sales_date", "order_status"}))
+public class DailyOrderSales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private OrderStatus orderStatus;
+
+    private long orderCount;
+
+    private long totalAmount;
+}
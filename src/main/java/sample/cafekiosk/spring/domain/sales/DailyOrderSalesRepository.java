@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Repository
+public interface DailyOrderSalesRepository extends JpaRepository<DailyOrderSales, Long> {
+
+    Optional<DailyOrderSales> findBySalesDateAndOrderStatus(LocalDate salesDate, OrderStatus orderStatus);
+
+    /*row를 읽지 않고 DB에서 바로 증감 - 반영된 row 수를 반환 (0이면 아직 row가 없음)*/
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyOrderSales s set s.orderCount = s.orderCount + :orderCount,"
+        + " s.totalAmount = s.totalAmount + :totalAmount"
+        + " where s.salesDate = :salesDate and s.orderStatus = :orderStatus")
+    int accumulate(LocalDate salesDate, OrderStatus orderStatus, long orderCount, long totalAmount);
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, Long> {
+
+    List<DailyProductSales> findAllBySalesDateAndOrderStatusOrderByProductNumber(LocalDate salesDate,
+        OrderStatus orderStatus);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyProductSales s set s.quantity = s.quantity + :quantity,"
+        + " s.totalAmount = s.totalAmount + :totalAmount"
+        + " where s.salesDate = :salesDate and s.orderStatus = :orderStatus"
+        + " and s.productNumber = :productNumber")
+    int accumulate(LocalDate salesDate, OrderStatus orderStatus, String productNumber, long quantity,
+        long totalAmount);
+}
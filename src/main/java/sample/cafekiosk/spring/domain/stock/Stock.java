@@ -4,6 +4,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -12,6 +15,7 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stock_product_number", columnNames = "product_number"))
 public class Stock {
 
     @Id
@@ -22,6 +26,9 @@ public class Stock {
 
     private int quantity;
 
+    @Version
+    private Long version;
+
     @Builder
     public Stock(String productNumber, int quantity) {
         this.productNumber = productNumber;
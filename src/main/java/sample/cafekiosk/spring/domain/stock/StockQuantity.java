@@ -0,0 +1,11 @@
+package sample.cafekiosk.spring.domain.stock;
+
+/*엔티티를 올리지 않고 현재 수량과 version만 조회하는 projection*/
+public interface StockQuantity {
+
+    String getProductNumber();
+
+    int getQuantity();
+
+    Long getVersion();
+}
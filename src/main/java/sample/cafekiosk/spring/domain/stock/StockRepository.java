@@ -1,12 +1,50 @@
 package sample.cafekiosk.spring.domain.stock;
 
+import jakarta.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
 
 @Repository
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
 
+    /*select ... for update - 상품번호 순으로 잠가 교착을 피한다*/
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+    List<Stock> findAllForUpdateByProductNumberIn(List<String> productNumbers);
+
+    @Query("select s.productNumber as productNumber, s.quantity as quantity, s.version as version"
+        + " from Stock s where s.productNumber = :productNumber")
+    Optional<StockQuantity> findQuantityByProductNumber(String productNumber);
+
+    /*재고 gauge 갱신용 - 엔티티를 올리지 않고 전체 상품의 남은 수량만*/
+    @Query("select s.productNumber as productNumber, s.quantity as quantity, s.version as version from Stock s")
+    List<StockQuantity> findAllQuantities();
+
+    /*조건부 차감 - 남은 수량이 충분할 때만 반영되며, 반영된 row 수를 반환
+     * 음수를 넘기면 재고가 복원된다.*/
+    @Modifying(flushAutomatically = true)
+    @Query("update Stock s set s.quantity = s.quantity - :quantity, s.version = s.version + 1"
+        + " where s.productNumber = :productNumber and s.quantity >= :quantity")
+    int deductQuantity(String productNumber, int quantity);
+
+    /*읽어온 version이 그대로일 때만 차감 (낙관적 락)*/
+    @Modifying(flushAutomatically = true)
+    @Query("update Stock s set s.quantity = s.quantity - :quantity, s.version = s.version + 1"
+        + " where s.productNumber = :productNumber and s.version = :version and s.quantity >= :quantity")
+    int deductQuantityIfVersionMatches(String productNumber, int quantity, Long version);
+
+    /*앞에서부터 count개 상품의 차감을 되돌린다 - 한 주문의 일부 상품만 차감된 채 실패했을 때*/
+    default void restoreQuantities(ProductQuantities quantities, int count) {
+        for (int i = 0; i < count; i++) {
+            deductQuantity(quantities.getProductNumber(i), -quantities.getQuantity(i));
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*판매 상품 카탈로그 캐시 miss로 인한 로딩 (조회 + 응답 변환 + 직렬화)*/
+@Name("cafekiosk.CatalogLoad")
+@Label("Catalog Load")
+@Category({"Cafekiosk", "Product"})
+@Description("Selling product catalog load on a cache miss")
+@StackTrace(false)
+public class CatalogLoadJfrEvent extends Event {
+
+    @Label("Products")
+    public int productCount;
+
+    @Label("Cached")
+    @Description("False when the catalog exceeded max-size and was not cached")
+    public boolean cached;
+}
@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*outbox 메일 한 건의 메일 서버 호출*/
+@Name("cafekiosk.MailDispatch")
+@Label("Mail Dispatch")
+@Category({"Cafekiosk", "Mail"})
+@Description("Mail server call for one outbox mail")
+@StackTrace(false)
+public class MailDispatchJfrEvent extends Event {
+
+    @Label("Outbox Id")
+    public long mailId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Sent")
+    public boolean sent;
+}
@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*주문 생성 하나 (상품 조회 ~ 커밋) - OrderCreationInstrumentation이 남긴다
+ * 같은 스레드의 재고 차감(cafekiosk.StockDeduction), GC 정지, lock 대기(jdk.JavaMonitorEnter, jdk.ThreadPark)와
+ * 시간대로 묶어 본다.*/
+@Name("cafekiosk.OrderCreation")
+@Label("Order Creation")
+@Category({"Cafekiosk", "Order"})
+@Description("Order creation from product resolution to transaction completion")
+@StackTrace(false)
+public class OrderCreationJfrEvent extends Event {
+
+    public static final String COMMITTED = "committed";
+    public static final String ROLLED_BACK = "rolled_back";
+
+    @Label("Order Lines")
+    @Description("Requested product numbers including duplicates")
+    public int lineCount;
+
+    @Label("Outcome")
+    public String outcome;
+}
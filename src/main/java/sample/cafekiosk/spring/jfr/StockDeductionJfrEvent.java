@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*주문 하나의 재고 차감 (전략별) - lock 대기는 안쪽의 StockLockWaitJfrEvent로 따로 남는다*/
+@Name("cafekiosk.StockDeduction")
+@Label("Stock Deduction")
+@Category({"Cafekiosk", "Stock"})
+@Description("Stock deduction for one order with the configured strategy")
+@StackTrace(false)
+public class StockDeductionJfrEvent extends Event {
+
+    public static final String DEDUCTED = "deducted";
+    public static final String REJECTED = "rejected";
+    public static final String FAILED = "failed";
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Quantities")
+    @Description("Product number to quantity, e.g. {001=2, 002=1}")
+    public String quantities;
+
+    @Label("Lines")
+    public int lineCount;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/*재고 lock을 얻기까지 기다린 시간 (event duration = 대기 시간)
+ * striped lock은 ReentrantLock 획득, pessimistic lock은 select ... for update 실행 시간*/
+@Name("cafekiosk.StockLockWait")
+@Label("Stock Lock Wait")
+@Category({"Cafekiosk", "Stock"})
+@Description("Time spent acquiring stock locks before deducting")
+@Threshold("1 ms")
+public class StockLockWaitJfrEvent extends Event {
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Product Numbers")
+    public String productNumbers;
+
+    @Label("Locks")
+    public int lockCount;
+}
@@ -0,0 +1,116 @@
+-- 초기 스키마 (JPA 매핑의 @Table indexes / uniqueConstraints와 같은 이름을 쓴다)
+
+create table product
+(
+    id                 bigint generated by default as identity primary key,
+    product_number     varchar(255),
+    type               varchar(255),
+    selling_status     varchar(255),
+    price              integer not null,
+    name               varchar(255),
+    created_dated_time timestamp(6),
+    modified_date_time timestamp(6),
+    constraint uk_product_product_number unique (product_number)
+);
+create index idx_product_selling_status_id on product (selling_status, id);
+create index idx_product_type_id on product (type, id);
+
+create table product_number_sequence
+(
+    name       varchar(255) primary key,
+    next_value bigint not null
+);
+
+create table stock
+(
+    id             bigint generated by default as identity primary key,
+    product_number varchar(255),
+    quantity       integer not null,
+    version        bigint  not null default 0,
+    constraint uk_stock_product_number unique (product_number)
+);
+
+create sequence orders_seq start with 1 increment by 50;
+create table orders
+(
+    id                   bigint primary key,
+    order_status         varchar(255),
+    total_price          integer not null,
+    registered_date_time timestamp(6),
+    created_dated_time   timestamp(6),
+    modified_date_time   timestamp(6)
+);
+create index idx_orders_status_registered_date_time on orders (order_status, registered_date_time);
+create index idx_orders_registered_date_time_id on orders (registered_date_time, id);
+
+create sequence order_product_seq start with 1 increment by 50;
+create table order_product
+(
+    id                 bigint primary key,
+    order_id           bigint,
+    product_id         bigint,
+    quantity           integer not null,
+    price              integer not null,
+    created_dated_time timestamp(6),
+    modified_date_time timestamp(6),
+    constraint fk_order_product_order foreign key (order_id) references orders (id),
+    constraint fk_order_product_product foreign key (product_id) references product (id)
+);
+create index idx_order_product_order_id on order_product (order_id);
+
+create table order_idempotency
+(
+    id                 bigint generated by default as identity primary key,
+    idempotency_key    varchar(255) not null,
+    order_id           bigint,
+    request_hash       varchar(64)  not null,
+    created_dated_time timestamp(6),
+    modified_date_time timestamp(6),
+    constraint uk_order_idempotency_key unique (idempotency_key)
+);
+create index idx_order_idempotency_created_dated_time on order_idempotency (created_dated_time);
+
+create table daily_order_sales
+(
+    id           bigint generated by default as identity primary key,
+    sales_date   date,
+    order_status varchar(255),
+    order_count  bigint not null,
+    total_amount bigint not null,
+    constraint uk_daily_order_sales unique (sales_date, order_status)
+);
+
+create table daily_product_sales
+(
+    id             bigint generated by default as identity primary key,
+    sales_date     date,
+    order_status   varchar(255),
+    product_number varchar(255),
+    quantity       bigint not null,
+    total_amount   bigint not null,
+    constraint uk_daily_product_sales unique (sales_date, order_status, product_number)
+);
+
+create table mail_outbox
+(
+    id                     bigint generated by default as identity primary key,
+    from_email             varchar(255),
+    to_email               varchar(255),
+    subject                varchar(255),
+    content                varchar(255),
+    status                 varchar(255),
+    attempt_count          integer not null,
+    next_attempt_date_time timestamp(6),
+    created_dated_time     timestamp(6),
+    modified_date_time     timestamp(6)
+);
+create index idx_mail_outbox_status_next_attempt_date_time on mail_outbox (status, next_attempt_date_time);
+
+create table mail_send_history
+(
+    id         bigint generated by default as identity primary key,
+    from_email varchar(255),
+    to_email   varchar(255),
+    subject    varchar(255),
+    content    varchar(255)
+);
@@ -4,16 +4,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import sample.cafekiosk.spring.api.controller.order.OrderController;
+import sample.cafekiosk.spring.api.controller.order.OrderEventController;
 import sample.cafekiosk.spring.api.controller.product.ProductController;
+import sample.cafekiosk.spring.api.service.order.IdempotentOrderService;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatusService;
+import sample.cafekiosk.spring.api.service.order.event.OrderEventBus;
 import sample.cafekiosk.spring.api.service.product.ProductService;
 
 @WebMvcTest(controllers = {
     OrderController.class,
+    OrderEventController.class,
     ProductController.class
 })
+@TestPropertySource(properties = "cafekiosk.server-timing.debug-enabled=true") //debug 응답은 기본으로 꺼져 있다
 public abstract class ControllerTestSupport {
 
     @Autowired
@@ -22,6 +30,18 @@ public abstract class ControllerTestSupport {
     @MockBean
     protected OrderService orderService;
 
+    @MockBean
+    protected IdempotentOrderService idempotentOrderService;
+
+    @MockBean
+    protected OrderStatusService orderStatusService;
+
+    @MockBean
+    protected OrderQueryService orderQueryService;
+
+    @MockBean
+    protected OrderEventBus orderEventBus;
+
     @Autowired/*직렬화 - 역직렬화를 도움*/
     protected ObjectMapper objectMapper;
 
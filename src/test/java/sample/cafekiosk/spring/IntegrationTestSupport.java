@@ -1,9 +1,15 @@
 package sample.cafekiosk.spring;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.sql.SqlStatementRecorder;
+import sample.cafekiosk.spring.config.sql.SqlStatistics;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -11,4 +17,49 @@ public abstract class IntegrationTestSupport {
 
     @MockBean
     protected MailSendClient mailSendClient;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    private SqlStatementRecorder.Scope sqlScope;
+
+    /*이후 테스트 스레드에서 실행되는 SQL을 센다 (when 직전에 호출)
+     * @Transactional 테스트는 커밋하지 않으므로 insert/update를 세려면 직접 flush 해야 한다.*/
+    protected void startSqlCount() {
+        closeSqlCount();
+        sqlScope = sqlStatementRecorder.start("test", getClass().getSimpleName());
+    }
+
+    protected SqlStatistics getSqlStatistics() {
+        assertThat(sqlScope).as("startSqlCount()를 먼저 호출해야 합니다.").isNotNull();
+        return sqlScope.getStatistics();
+    }
+
+    protected void assertSelectCount(int expected) {
+        SqlStatistics statistics = getSqlStatistics();
+        assertThat(statistics.getSelectCount()).as("select 수 [%s]", statistics).isEqualTo(expected);
+    }
+
+    protected void assertInsertCount(int expected) {
+        SqlStatistics statistics = getSqlStatistics();
+        assertThat(statistics.getInsertCount()).as("insert 수 [%s]", statistics).isEqualTo(expected);
+    }
+
+    protected void assertUpdateCount(int expected) {
+        SqlStatistics statistics = getSqlStatistics();
+        assertThat(statistics.getUpdateCount()).as("update 수 [%s]", statistics).isEqualTo(expected);
+    }
+
+    protected void assertDeleteCount(int expected) {
+        SqlStatistics statistics = getSqlStatistics();
+        assertThat(statistics.getDeleteCount()).as("delete 수 [%s]", statistics).isEqualTo(expected);
+    }
+
+    @AfterEach
+    void closeSqlCount() {
+        if (sqlScope != null) {
+            sqlScope.close();
+            sqlScope = null;
+        }
+    }
 }
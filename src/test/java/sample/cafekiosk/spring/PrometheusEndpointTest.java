@@ -0,0 +1,134 @@
+package sample.cafekiosk.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.stock.StockQuantityGauge;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*주문/재고/카탈로그 메트릭이 prometheus scrape endpoint(/actuator/prometheus)로 나가는지 확인
+ * 메트릭 export는 테스트에서 기본으로 꺼져 있으므로 @AutoConfigureObservability로 켠다.
+ * 다른 통합 테스트와 DB를 나누지 않도록 별도의 in-memory DB를 쓴다.
+ * */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:prometheusEndpoint",
+    "cafekiosk.metrics.stock-gauge.enabled=true",
+    "cafekiosk.metrics.stock-gauge.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    @MockBean
+    private MailSendClient mailSendClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private StockQuantityGauge stockQuantityGauge;
+
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+        productCatalogCache.invalidate();
+    }
+
+    @Test
+    @DisplayName("주문 생성 시간, 재고 부족 거절 수, 상품별 재고, 카탈로그 캐시 hit ratio를 prometheus 형식으로 읽는다.")
+    public void scrape() throws Exception {
+        //given
+        productRepository.save(Product.builder()
+            .type(BOTTLE)
+            .productNumber("001")
+            .price(1000)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build());
+        stockRepository.save(Stock.create("001", 1));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001"))
+            .build();
+
+        orderService.createOrder(request, LocalDateTime.now());
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+            .isInstanceOf(IllegalArgumentException.class);
+        productService.getSellingProductCatalog();
+        productService.getSellingProductCatalog();
+        stockQuantityGauge.refresh();
+
+        //when
+        String scraped = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        //then
+        assertThat(scraped)
+            .contains("cafekiosk_order_create_seconds_count{outcome=\"committed\"")
+            .contains("cafekiosk_order_create_seconds_count{outcome=\"rolled_back\"")
+            .contains("cafekiosk_order_create_seconds_bucket")
+            .contains("cafekiosk_order_create_phase_seconds_count{mode=\"single\",phase=\"deduct_stock\"")
+            .contains("cafekiosk_order_stock_rejected_total{mode=\"single\"")
+            .contains("cafekiosk_stock_quantity{productNumber=\"001\"")
+            .contains("cafekiosk_catalog_cache_hit_ratio 0.5")
+            .contains("cafekiosk_mail_send_seconds_count");
+    }
+}
@@ -1,11 +1,18 @@
 package sample.cafekiosk.spring.api.controller.order;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +22,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderHistoryResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 
 class OrderControllerTest extends ControllerTestSupport {
@@ -65,4 +76,193 @@ class OrderControllerTest extends ControllerTestSupport {
             .andExpect(jsonPath("$.data").isEmpty())
         ;
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Idempotency-Key 헤더가 있으면 key 단위로 중복을 막는 주문 생성을 사용한다.")
+    public void createOrderWithIdempotencyKey() throws Exception {
+        //given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+            .productNumbers(List.of("001"))
+            .build();
+
+        //when
+        mockMvc.perform(
+                post("/api/v1/orders/new")
+                    .header("Idempotency-Key", "key-1")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value("200"));
+
+        //then
+        verify(idempotentOrderService).createOrder(eq("key-1"), any(), any());
+        verify(orderService, never()).createOrder(any(), any());
+    }
+
+    @Test
+    @DisplayName("여러 주문을 한번에 등록한다.")
+    public void createOrders() throws Exception {
+        //given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+            .orders(List.of(
+                OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+                OrderCreateRequest.builder().productNumbers(List.of("001", "002")).build()
+            ))
+            .build();
+
+        //when        //then
+        mockMvc.perform(
+                post("/api/v1/orders/batch")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value("200"))
+            .andExpect(jsonPath("$.status").value("OK"))
+            .andExpect(jsonPath("$.message").value("OK"))
+        ;
+    }
+
+    @Test
+    @DisplayName("여러 주문을 한번에 등록할 때 주문 리스트는 1개 이상이어야 한다.")
+    public void createOrdersWithEmptyOrders() throws Exception {
+        //given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+            .orders(List.of())
+            .build();
+
+        //when        //then
+        mockMvc.perform(
+                post("/api/v1/orders/batch")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+            .andExpect(jsonPath("$.message").value("주문 리스트는 필수입니다."))
+            .andExpect(jsonPath("$.data").isEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("여러 주문을 한번에 등록할 때 각 주문의 상품 번호는 1개 이상이어야 한다.")
+    public void createOrdersWithEmptyProductNumbers() throws Exception {
+        //given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+            .orders(List.of(OrderCreateRequest.builder().productNumbers(List.of()).build()))
+            .build();
+
+        //when        //then
+        mockMvc.perform(
+                post("/api/v1/orders/batch")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."))
+        ;
+    }
+
+    @Test
+    @DisplayName("여러 주문의 상태를 한번에 변경한다.")
+    public void changeOrderStatus() throws Exception {
+        //given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+            .orderIds(List.of(1L, 2L))
+            .orderStatus(OrderStatus.RECEIVED)
+            .build();
+
+        //when        //then
+        mockMvc.perform(
+                post("/api/v1/orders/status")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value("200"))
+            .andExpect(jsonPath("$.status").value("OK"))
+            .andExpect(jsonPath("$.message").value("OK"))
+        ;
+    }
+
+    @Test
+    @DisplayName("여러 주문의 상태를 변경할 때 변경할 주문 상태는 필수값이다.")
+    public void changeOrderStatusWithoutOrderStatus() throws Exception {
+        //given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+            .orderIds(List.of(1L, 2L))
+            .build();
+
+        //when        //then
+        mockMvc.perform(
+                post("/api/v1/orders/status")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+            .andExpect(jsonPath("$.message").value("변경할 주문 상태는 필수입니다."))
+            .andExpect(jsonPath("$.data").isEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("최신순 주문 내역을 cursor로 조회한다.")
+    public void getOrderHistory() throws Exception {
+        //given
+        when(orderQueryService.getOrderHistory(LocalDateTime.of(2023, 3, 5, 10, 0), 10L, 20))
+            .thenReturn(new OrderHistoryResponse(List.of(), null, null, false));
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/orders/history")
+                    .queryParam("cursorDateTime", "2023-03-05T10:00:00")
+                    .queryParam("cursorId", "10")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value("200"))
+            .andExpect(jsonPath("$.data.orders").isArray())
+            .andExpect(jsonPath("$.data.hasNext").value(false))
+        ;
+    }
+
+    @Test
+    @DisplayName("주문 내역을 조회할 때 페이지 크기는 100 이하여야 한다.")
+    public void getOrderHistoryWithTooLargeSize() throws Exception {
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/orders/history")
+                    .queryParam("size", "101")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.message").value("페이지 크기는 100 이하여야 합니다."))
+        ;
+    }
+
+    @Test
+    @DisplayName("주문 내역을 조회할 때 cursor는 주문 시각과 id를 함께 보내야 한다.")
+    public void getOrderHistoryWithoutCursorId() throws Exception {
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/orders/history")
+                    .queryParam("cursorDateTime", "2023-03-05T10:00:00")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.message").value("cursor는 주문 시각과 id를 함께 보내야 합니다."))
+        ;
+    }
+}
@@ -0,0 +1,156 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*실제 tomcat에 주문 생성 요청을 동시에 보내 처리량/p99를 측정
+ * 플랫폼 스레드 / 가상 스레드 하위 클래스의 결과를 비교한다.
+ * ./gradlew benchmark -PvirtualThreads -Pbenchmark.requests=5000 -Pbenchmark.clients=400
+ * */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+abstract class OrderCreationLoadTestSupport {
+
+    private static final String PRODUCT_NUMBER = "001";
+
+    private final int requests = Integer.getInteger("benchmark.requests", 2000);
+    private final int clients = Integer.getInteger("benchmark.clients", 200);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @MockBean
+    private MailSendClient mailSendClient;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    @Test
+    @DisplayName("주문 생성 API 부하 테스트")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    public void createOrders() throws Exception {
+        productRepository.save(Product.builder()
+            .productNumber(PRODUCT_NUMBER)
+            .type(BOTTLE)
+            .sellingStatus(SELLING)
+            .name("인기 상품")
+            .price(1000)
+            .build());
+        stockRepository.save(Stock.create(PRODUCT_NUMBER, requests));
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/orders/new"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"productNumbers\":[\"" + PRODUCT_NUMBER + "\"]}"))
+            .build();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(clients);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger error = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            executorService.submit(() -> {
+                try {
+                    ready.await();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            success.incrementAndGet();
+                        } else {
+                            error.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        error.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - start;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        ready.countDown();
+        done.await(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%n[order creation] threads=%s, requests=%d, clients=%d%n",
+            virtualThreads ? "virtual" : "platform", requests, clients);
+        System.out.printf("%12s %10s %10s %8s %8s%n", "ops/s", "p50(ms)", "p99(ms)", "success", "error");
+        System.out.printf("%12.1f %10.2f %10.2f %8d %8d%n", requests * 1_000_000_000.0 / elapsed,
+            latencies[requests / 2] / 1_000_000.0,
+            latencies[(int) Math.ceil(requests * 0.99) - 1] / 1_000_000.0,
+            success.get(), error.get());
+
+        assertThat(success.get() + error.get()).isEqualTo(requests);
+    }
+}
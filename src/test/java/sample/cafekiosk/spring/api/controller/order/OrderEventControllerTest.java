@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sample.cafekiosk.spring.ControllerTestSupport;
+
+class OrderEventControllerTest extends ControllerTestSupport {
+
+    @Test
+    @DisplayName("주문 이벤트 스트림을 구독한다.")
+    public void subscribe() throws Exception {
+        //given
+        when(orderEventBus.subscribe(null)).thenReturn(new SseEmitter());
+
+        //when        //then
+        mockMvc.perform(
+                get("/api/v1/orders/events")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+            )
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("재연결 시 Last-Event-ID 이후부터 이어서 구독한다.")
+    public void subscribeWithLastEventId() throws Exception {
+        //given
+        when(orderEventBus.subscribe(10L)).thenReturn(new SseEmitter());
+
+        //when
+        mockMvc.perform(
+                get("/api/v1/orders/events")
+                    .header("Last-Event-ID", "10")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+            )
+            .andExpect(request().asyncStarted());
+
+        //then
+        verify(orderEventBus).subscribe(10L);
+    }
+}
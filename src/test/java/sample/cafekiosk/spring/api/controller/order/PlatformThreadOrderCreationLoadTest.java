@@ -0,0 +1,10 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadOrderCreationLoadTest extends OrderCreationLoadTestSupport {
+
+}
@@ -0,0 +1,8 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadOrderCreationLoadTest extends OrderCreationLoadTestSupport {
+
+}
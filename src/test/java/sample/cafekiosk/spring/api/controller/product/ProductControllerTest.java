@@ -1,12 +1,17 @@
 package sample.cafekiosk.spring.api.controller.product;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import static org.hamcrest.Matchers.matchesPattern;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -18,8 +23,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import sample.cafekiosk.spring.ControllerTestSupport;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSellingStatusChangeRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductCatalog;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
@@ -154,7 +162,8 @@ class ProductControllerTest extends ControllerTestSupport {
         //when ->서비스레이어에서 테스트한 부분은 제외하고 배열이 잘 오는지만 확인
         List<ProductResponse> result = List.of();
 
-        when(productService.getSellingProducts()).thenReturn(result);
+        when(productService.getSellingProductCatalog())
+            .thenReturn(SellingProductCatalog.of(result, objectMapper));
 
         // then
         /*
@@ -172,4 +181,146 @@ class ProductControllerTest extends ControllerTestSupport {
             .andExpect(jsonPath("$.data").isArray())
         ;
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("판매 상품 목록은 미리 직렬화된 상품 배열로 응답한다.")
+    public void getSellingProductsWithCatalog() throws Exception {
+        //given
+        List<ProductResponse> result = List.of(ProductResponse.builder()
+            .id(1L)
+            .productNumber("001")
+            .type(ProductType.HANDMADE)
+            .sellingStatus(ProductSellingStatus.SELLING)
+            .name("아메리카노")
+            .price(4000)
+            .build());
+
+        when(productService.getSellingProductCatalog())
+            .thenReturn(SellingProductCatalog.of(result, objectMapper));
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products/selling")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].productNumber").value("001"))
+            .andExpect(jsonPath("$.data[0].name").value("아메리카노"))
+            .andExpect(jsonPath("$.data[0].price").value(4000))
+        ;
+    }
+
+    @Test
+    @DisplayName("상품의 판매상태를 변경할 때 판매상태는 필수입니다.")
+    public void changeSellingStatusWithoutSellingStatus() throws Exception {
+        //given
+        ProductSellingStatusChangeRequest request = ProductSellingStatusChangeRequest.builder()
+            .build();
+
+        //when //then
+        mockMvc.perform(
+                patch("/api/v1/products/001/selling-status")
+                    .content(objectMapper.writeValueAsString(request))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.message").value("상품 판매상태는 필수입니다."))
+        ;
+    }
+
+    @Test
+    @DisplayName("필터와 cursor로 상품 목록을 조회한다.")
+    public void getProducts() throws Exception {
+        //given
+        when(productService.getProducts(any()))
+            .thenReturn(new ProductPageResponse(List.of(), null, false));
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products")
+                    .queryParam("types", "HANDMADE", "BOTTLE")
+                    .queryParam("sellingStatuses", "SELLING")
+                    .queryParam("minPrice", "1000")
+                    .queryParam("cursor", "10")
+                    .queryParam("size", "20")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.code").value("200"))
+            .andExpect(jsonPath("$.data.products").isArray())
+            .andExpect(jsonPath("$.data.hasNext").value(false))
+        ;
+    }
+
+    @Test
+    @DisplayName("상품 목록을 조회할 때 최소 가격은 최대 가격보다 클 수 없다.")
+    public void getProductsWithInvertedPriceRange() throws Exception {
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products")
+                    .queryParam("minPrice", "5000")
+                    .queryParam("maxPrice", "1000")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.message").value("최소 가격은 최대 가격보다 클 수 없습니다."))
+        ;
+    }
+
+    @Test
+    @DisplayName("상품 목록을 조회할 때 페이지 크기는 100 이하여야 한다.")
+    public void getProductsWithTooLargeSize() throws Exception {
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products")
+                    .queryParam("size", "101")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("400"))
+            .andExpect(jsonPath("$.message").value("페이지 크기는 100 이하여야 합니다."))
+        ;
+    }
+
+    @Test
+    @DisplayName("상품 API 응답에는 단계별 Server-Timing 헤더가 붙고, X-Debug-Timing을 보내면 body에도 담긴다.")
+    public void serverTiming() throws Exception {
+        //given
+        when(productService.getProducts(any()))
+            .thenReturn(new ProductPageResponse(List.of(), null, false));
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products")
+                    .header("X-Debug-Timing", "true")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isOk())
+            .andExpect(header().string("Server-Timing",
+                matchesPattern("total;dur=\\d+\\.\\d{2}")))
+            .andExpect(jsonPath("$.data.products").isArray())
+            .andExpect(jsonPath("$.debug.total").isNumber())
+        ;
+    }
+
+    @Test
+    @DisplayName("X-Debug-Timing을 보내지 않으면 body에 debug가 담기지 않는다.")
+    public void serverTimingWithoutDebug() throws Exception {
+        //given
+        when(productService.getProducts(any()))
+            .thenReturn(new ProductPageResponse(List.of(), null, false));
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products")
+            )
+            .andDo(print())//log 확인
+            .andExpect(status().isOk())
+            .andExpect(header().exists("Server-Timing"))
+            .andExpect(jsonPath("$.debug").doesNotExist())
+        ;
+    }
+}
@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.api.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.cache.response.CacheStatisticsResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+class CacheStatisticsServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("같은 상품번호로 다시 조회하면 natural id 캐시와 상품 2차 캐시에서 읽어 DB에 다시 가지 않는다.")
+    public void findAllByProductNumbersWithCache() throws Exception {
+        //given
+        productRepository.saveAll(List.of(createProduct("001", 4000), createProduct("002", 4500)));
+        entityManagerFactory.getCache().evictAll();
+        cacheStatisticsService.clear();
+
+        //when
+        List<Product> first = productRepository.findAllByProductNumbers(List.of("001", "002"));
+        List<Product> second = productRepository.findAllByProductNumbers(List.of("001", "002"));
+
+        //then
+        assertThat(second).extracting("productNumber")
+            .containsExactly("001", "002");
+        assertThat(first).hasSize(2);
+
+        CacheStatisticsResponse statistics = cacheStatisticsService.getStatistics();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getRegions())
+            .filteredOn(region -> region.getName().equals("product"))
+            .extracting("hitCount")
+            .containsExactly(2L);
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+            .type(HANDMADE)
+            .productNumber(productNumber)
+            .price(price)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build();
+    }
+}
@@ -0,0 +1,139 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+
+class MailOutboxDispatcherTest extends IntegrationTestSupport {
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("전송에 성공한 메일은 SENT로 바뀌고 메일 전송 이력이 저장된다.")
+    public void dispatch() throws Exception {
+        //given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        mailOutboxRepository.save(createMail("제목", now));
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+            .thenReturn(true);
+
+        //when
+        int dispatched = mailOutboxDispatcher.dispatch(now);
+
+        //then
+        assertThat(dispatched).isEqualTo(1);
+        assertThat(mailOutboxRepository.findAll())
+            .extracting("status", "attemptCount")
+            .containsExactly(tuple(MailOutboxStatus.SENT, 1));
+        assertThat(mailSendHistoryRepository.findAll())
+            .extracting("subject")
+            .containsExactly("제목");
+    }
+
+    @Test
+    @DisplayName("전송 시각이 되지 않은 메일은 가져오지 않는다.")
+    public void dispatchBeforeNextAttempt() throws Exception {
+        //given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        mailOutboxRepository.save(createMail("제목", now.plusSeconds(1)));
+
+        //when
+        int dispatched = mailOutboxDispatcher.dispatch(now);
+
+        //then
+        assertThat(dispatched).isZero();
+        verify(mailSendClient, times(0)).sendEmail(any(String.class), any(String.class), any(String.class),
+            any(String.class));
+    }
+
+    @Test
+    @DisplayName("전송에 실패하면 시도할 때마다 2배씩 늘어나는 간격 뒤에 다시 시도한다.")
+    public void dispatchWithBackoff() throws Exception {
+        //given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        mailOutboxRepository.save(createMail("제목", now));
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+            .thenReturn(false);
+
+        //when
+        mailOutboxDispatcher.dispatch(now);
+        mailOutboxDispatcher.dispatch(now.plusSeconds(1));
+
+        //then 1초 뒤 두번째 시도 -> 2초 뒤 세번째 시도
+        assertThat(mailOutboxRepository.findAll())
+            .extracting("status", "attemptCount", "nextAttemptDateTime")
+            .containsExactly(tuple(MailOutboxStatus.PENDING, 2, now.plusSeconds(3)));
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수만큼 실패한 메일은 FAILED로 남기고 더 이상 시도하지 않는다.")
+    public void dispatchUntilMaxAttempts() throws Exception {
+        //given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        mailOutboxRepository.save(createMail("제목", now));
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+            .thenThrow(new IllegalArgumentException("메일 전송"));
+
+        //when 기본 최대 5회
+        LocalDateTime dispatchedAt = now;
+        for (int i = 0; i < 6; i++) {
+            mailOutboxDispatcher.dispatch(dispatchedAt);
+            dispatchedAt = dispatchedAt.plusHours(1);
+        }
+
+        //then
+        assertThat(mailOutboxRepository.findAll())
+            .extracting("status", "attemptCount")
+            .containsExactly(tuple(MailOutboxStatus.FAILED, 5));
+        verify(mailSendClient, times(5)).sendEmail(any(String.class), any(String.class), any(String.class),
+            any(String.class));
+    }
+
+    @Test
+    @DisplayName("재시도 간격은 최대 간격을 넘지 않는다.")
+    public void backoff() throws Exception {
+        //when //then
+        assertThat(mailOutboxDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(mailOutboxDispatcher.backoff(4)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(mailOutboxDispatcher.backoff(20)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    private MailOutbox createMail(String subject, LocalDateTime nextAttemptDateTime) {
+        return MailOutbox.builder()
+            .fromEmail("no-reply@cafekiosk.com")
+            .toEmail("test@test.com")
+            .subject(subject)
+            .content("내용")
+            .nextAttemptDateTime(nextAttemptDateTime)
+            .build();
+    }
+}
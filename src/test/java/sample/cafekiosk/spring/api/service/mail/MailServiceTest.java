@@ -3,49 +3,45 @@ package sample.cafekiosk.spring.api.service.mail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import sample.cafekiosk.spring.client.mail.MailSendClient;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
 
 @ExtendWith(MockitoExtension.class)
 class MailServiceTest {
 
     @Mock
-    private MailSendClient mailSendClient;
-    @Mock
-    private MailSendHistoryRepository mailSendHistoryRepository;
+    private MailOutboxRepository mailOutboxRepository;
 
     @InjectMocks
     //해당 생성자를 보고 mock으로 선언 인자 주입 = 'inject'
     private MailService mailService;
     @Test
-    @DisplayName("메일 전송 테스트")
+    @DisplayName("메일 전송 요청은 outbox에 저장만 하고 outbox id를 바로 반환한다.")
     public void sendMail() throws Exception{
         //given
-//        when(mailSendClient.sendEmail(anyString(), any(String.class), any(String.class), any(String.class)))
-//            .thenReturn(true);
-        BDDMockito.given(mailSendClient.sendEmail(anyString(), any(String.class), any(String.class),
-            any(String.class))).willReturn(true);
+        when(mailOutboxRepository.save(any(MailOutbox.class))).thenAnswer(invocation -> {
+            MailOutbox outbox = invocation.getArgument(0);
+            ReflectionTestUtils.setField(outbox, "id", 1L);
+            return outbox;
+        });
 
         //when
-        boolean result = mailService.sendMail("", "", "", "");
+        Long outboxId = mailService.sendMail("", "", "", "");
 
         //then
-        assertThat(result).isTrue();
-        verify(mailSendHistoryRepository, times(1)).save(any(MailSendHistory.class));
+        assertThat(outboxId).isEqualTo(1L);
+        verify(mailOutboxRepository, times(1)).save(any(MailOutbox.class));
 
     }
 
@@ -0,0 +1,206 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+class IdempotentOrderServiceTest extends IntegrationTestSupport {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private OrderIdempotencyRepository orderIdempotencyRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    //메모리 캐시는 서버(인스턴스)마다 따로 가지므로 테스트마다 새로 만든다
+    private IdempotentOrderService idempotentOrderService;
+
+    @BeforeEach
+    void setUp() {
+        idempotentOrderService = createIdempotentOrderService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 다시 요청하면 주문을 새로 만들지 않고 처음 주문을 응답한다.")
+    public void createOrderWithSameKey() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        productRepository.save(createProduct("001", 1000));
+        stockRepository.save(Stock.create("001", 2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001"))
+            .build();
+
+        //when
+        OrderResponse first = idempotentOrderService.createOrder("key-1", request, registeredDateTime);
+        OrderResponse second = idempotentOrderService.createOrder("key-1", request, registeredDateTime);
+
+        //then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getTotalPrice()).isEqualTo(1000);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("메모리 캐시에 없는 key(다른 서버로 온 재시도)는 저장된 dedupe 정보로 처음 주문을 다시 조회한다.")
+    public void createOrderWithStoredKey() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        productRepository.save(createProduct("001", 1000));
+        stockRepository.save(Stock.create("001", 2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001", "001"))
+            .build();
+        OrderResponse first = idempotentOrderService.createOrder("key-1", request, registeredDateTime);
+        IdempotentOrderService otherServer = createIdempotentOrderService();
+
+        //when
+        OrderResponse second = otherServer.createOrder("key-1", request, registeredDateTime);
+
+        //then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getTotalPrice()).isEqualTo(2000);
+        assertThat(second.getProducts()).hasSize(2);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 다른 상품을 주문하면 예외가 발생한다.")
+    public void createOrderWithSameKeyAndDifferentRequest() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        productRepository.saveAll(List.of(createProduct("001", 1000), createProduct("002", 2000)));
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 2)));
+
+        idempotentOrderService.createOrder("key-1", OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001"))
+            .build(), registeredDateTime);
+
+        OrderCreateServiceRequest otherRequest = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("002"))
+            .build();
+
+        //when //then
+        assertThatThrownBy(() -> idempotentOrderService.createOrder("key-1", otherRequest, registeredDateTime))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("같은 Idempotency-Key로 다른 주문을 요청할 수 없습니다.");
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 상품 순서만 바꿔 요청하면 같은 주문으로 본다.")
+    public void createOrderWithSameKeyAndReorderedProducts() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        productRepository.saveAll(List.of(createProduct("001", 1000), createProduct("002", 2000)));
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 2)));
+
+        OrderResponse first = idempotentOrderService.createOrder("key-1", OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001", "002"))
+            .build(), registeredDateTime);
+
+        //when
+        OrderResponse second = idempotentOrderService.createOrder("key-1", OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("002", "001"))
+            .build(), registeredDateTime);
+
+        //then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ttl이 지난 dedupe 정보만 지운다.")
+    public void deleteExpired() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        productRepository.save(createProduct("001", 1000));
+        stockRepository.save(Stock.create("001", 2));
+
+        idempotentOrderService.createOrder("key-1", OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001"))
+            .build(), registeredDateTime);
+        LocalDateTime createdDateTime = orderIdempotencyRepository.findAll().get(0).getCreatedDatedTime();
+
+        //when
+        int notExpired = idempotentOrderService.deleteExpired(createdDateTime.plus(TTL));
+        int expired = idempotentOrderService.deleteExpired(createdDateTime.plus(TTL).plusSeconds(1));
+
+        //then
+        assertThat(notExpired).isZero();
+        assertThat(expired).isEqualTo(1);
+        assertThat(orderIdempotencyRepository.findAll()).isEmpty();
+    }
+
+    private IdempotentOrderService createIdempotentOrderService() {
+        return new IdempotentOrderService(orderService, orderRepository, orderIdempotencyRepository,
+            transactionManager, 10000, TTL);
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+            .type(BOTTLE)
+            .productNumber(productNumber)
+            .price(price)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build();
+    }
+}
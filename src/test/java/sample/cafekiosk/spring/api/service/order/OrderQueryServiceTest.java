@@ -0,0 +1,188 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.response.OrderHistoryResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+@Transactional
+class OrderQueryServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DisplayName("주문 라인이 많아도 주문 상세는 주문, 주문 상품, 상품을 한번의 쿼리로 읽는다.")
+    @Test
+    public void getOrder() throws Exception {
+        //given
+        List<Product> products = createProducts(10);
+        Order order = orderRepository.save(Order.create(products, LocalDateTime.now()));
+        Statistics statistics = clearPersistenceContext();
+        startSqlCount();
+
+        //when
+        OrderResponse orderResponse = orderQueryService.getOrder(order.getId());
+
+        //then
+        assertThat(orderResponse.getProducts()).hasSize(10)
+            .extracting("productNumber")
+            .containsExactlyInAnyOrderElementsOf(products.stream()
+                .map(Product::getProductNumber)
+                .collect(Collectors.toList()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertSelectCount(1);
+    }
+
+    @DisplayName("상품 가격이 바뀌어도 주문 상세의 상품 가격은 주문 당시 단가이고 합계가 총 금액과 같다.")
+    @Test
+    public void getOrderAfterPriceChange() throws Exception {
+        //given
+        List<Product> products = createProducts(2);
+        Order order = orderRepository.save(Order.create(
+            List.of(products.get(0), products.get(0), products.get(1)), LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.createQuery("update Product p set p.price = p.price + 500").executeUpdate();
+        clearPersistenceContext();
+
+        //when
+        OrderResponse orderResponse = orderQueryService.getOrder(order.getId());
+
+        //then
+        assertThat(orderResponse.getProducts())
+            .extracting("productNumber", "price")
+            .containsExactlyInAnyOrder(
+                tuple(products.get(0).getProductNumber(), products.get(0).getPrice()),
+                tuple(products.get(0).getProductNumber(), products.get(0).getPrice()),
+                tuple(products.get(1).getProductNumber(), products.get(1).getPrice())
+            );
+        assertThat(orderResponse.getProducts().stream().mapToInt(ProductResponse::getPrice).sum())
+            .isEqualTo(orderResponse.getTotalPrice());
+    }
+
+    @DisplayName("존재하지 않는 주문을 조회하면 예외가 발생한다.")
+    @Test
+    public void getOrderWithNoOrder() throws Exception {
+        //when //then
+        assertThatThrownBy(() -> orderQueryService.getOrder(1L))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("존재하지 않는 주문입니다.");
+    }
+
+    @DisplayName("주문 내역은 주문 라인 수와 상관없이 페이지당 두번의 쿼리로 최신순으로 읽는다.")
+    @Test
+    public void getOrderHistory() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        List<Product> products = createProducts(10);
+        Order order1 = orderRepository.save(Order.create(products.subList(0, 1), registeredDateTime));
+        Order order2 = orderRepository.save(Order.create(products.subList(0, 5), registeredDateTime.plusMinutes(1)));
+        Order order3 = orderRepository.save(Order.create(products, registeredDateTime.plusMinutes(2)));
+        Statistics statistics = clearPersistenceContext();
+
+        //when
+        OrderHistoryResponse history = orderQueryService.getOrderHistory(null, null, 2);
+
+        //then
+        assertThat(history.getOrders())
+            .extracting(OrderResponse::getId, orderResponse -> orderResponse.getProducts().size())
+            .containsExactly(
+                tuple(order3.getId(), 10),
+                tuple(order2.getId(), 5)
+            );
+        assertThat(history.isHasNext()).isTrue();
+        assertThat(history.getNextCursorDateTime()).isEqualTo(order2.getRegisteredDateTime());
+        assertThat(history.getNextCursorId()).isEqualTo(order2.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        OrderHistoryResponse nextHistory = orderQueryService.getOrderHistory(history.getNextCursorDateTime(),
+            history.getNextCursorId(), 2);
+        assertThat(nextHistory.getOrders())
+            .extracting("id")
+            .containsExactly(order1.getId());
+        assertThat(nextHistory.isHasNext()).isFalse();
+        assertThat(nextHistory.getNextCursorDateTime()).isNull();
+        assertThat(nextHistory.getNextCursorId()).isNull();
+    }
+
+    @DisplayName("주문 내역은 id가 아니라 주문 시각 순이고, 주문 시각이 같으면 id 역순으로 페이지를 나눈다.")
+    @Test
+    public void getOrderHistoryOrderedByRegisteredDateTime() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        List<Product> products = createProducts(1);
+        Order latest = orderRepository.save(Order.create(products, registeredDateTime.plusMinutes(1)));
+        Order sameTime1 = orderRepository.save(Order.create(products, registeredDateTime));
+        Order sameTime2 = orderRepository.save(Order.create(products, registeredDateTime));
+        clearPersistenceContext();
+
+        //when
+        OrderHistoryResponse history = orderQueryService.getOrderHistory(null, null, 2);
+        OrderHistoryResponse nextHistory = orderQueryService.getOrderHistory(history.getNextCursorDateTime(),
+            history.getNextCursorId(), 2);
+
+        //then
+        assertThat(history.getOrders())
+            .extracting("id")
+            .containsExactly(latest.getId(), sameTime2.getId());
+        assertThat(nextHistory.getOrders())
+            .extracting("id")
+            .containsExactly(sameTime1.getId());
+        assertThat(nextHistory.isHasNext()).isFalse();
+    }
+
+    //저장한 엔티티를 비우고 그 이후의 statement 수만 센다
+    private Statistics clearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private List<Product> createProducts(int count) {
+        List<Product> products = IntStream.rangeClosed(1, count)
+            .mapToObj(i -> Product.builder()
+                .type(HANDMADE)
+                .productNumber(String.format("%03d", i))
+                .price(1000 * i)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build())
+            .collect(Collectors.toList());
+        return productRepository.saveAll(products);
+    }
+}
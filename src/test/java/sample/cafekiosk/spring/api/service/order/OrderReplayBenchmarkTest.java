@@ -0,0 +1,142 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionStrategy;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionType;
+import sample.cafekiosk.spring.api.service.stock.StockDeductor;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*오프라인 중 쌓인 주문 재전송 - 한건씩 등록 vs 일괄 등록 처리량 비교
+ * ./gradlew benchmark -Pbenchmark.orders=5000 -Pbenchmark.batchSize=200
+ * */
+@Tag("benchmark")
+class OrderReplayBenchmarkTest extends IntegrationTestSupport {
+
+    private final int orderCount = Integer.getInteger("benchmark.orders", 2000);
+    private final int batchSize = Integer.getInteger("benchmark.batchSize", 100);
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private List<StockDeductionStrategy> strategies;
+    @Autowired
+    private OrderMetrics orderMetrics;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("주문 재전송 벤치마크")
+    public void compareReplay() throws Exception {
+        productRepository.saveAll(List.of(
+            createProduct(BOTTLE, "001", 1000),
+            createProduct(BOTTLE, "002", 2000),
+            createProduct(HANDMADE, "003", 3000)
+        ));
+        List<OrderCreateServiceRequest> requests = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            requests.add(OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "002", "003"))
+                .build());
+        }
+
+        System.out.printf("%n[order replay] orders=%d, batchSize=%d%n", orderCount, batchSize);
+        System.out.printf("%-20s %14s %14s%n", "strategy", "sequential/s", "batch/s");
+        for (StockDeductionType type : List.of(StockDeductionType.RESERVATION, StockDeductionType.CONDITIONAL_UPDATE)) {
+            OrderService orderService = createOrderService(type);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+            saveStocks();
+            long start = System.nanoTime();
+            requests.forEach(request -> transactionTemplate.execute(
+                status -> orderService.createOrder(request, LocalDateTime.now())));
+            double sequential = orderCount * 1_000_000_000.0 / (System.nanoTime() - start);
+            assertThat(orderRepository.count()).isEqualTo(orderCount);
+            cleanUp();
+
+            saveStocks();
+            start = System.nanoTime();
+            for (int from = 0; from < orderCount; from += batchSize) {
+                List<OrderCreateServiceRequest> batch = requests.subList(from, Math.min(from + batchSize, orderCount));
+                transactionTemplate.execute(status -> orderService.createOrders(batch, LocalDateTime.now()));
+            }
+            double batch = orderCount * 1_000_000_000.0 / (System.nanoTime() - start);
+            assertThat(orderRepository.count()).isEqualTo(orderCount);
+            cleanUp();
+
+            System.out.printf("%-20s %14.1f %14.1f%n", type, sequential, batch);
+        }
+    }
+
+    /*설정과 다른 전략으로 주문을 만든다 - 공유 context의 bean은 바꾸지 않고 전략마다 새로 조립한다
+     * (직접 만든 OrderService에는 @Transactional이 없으므로 호출마다 TransactionTemplate으로 감싼다)*/
+    private OrderService createOrderService(StockDeductionType type) {
+        StockDeductor stockDeductor = new StockDeductor(strategies, stockReservationEngine, stockRepository, type);
+        return new OrderService(productRepository, orderRepository, stockDeductor, orderMetrics);
+    }
+
+    private void saveStocks() {
+        stockRepository.saveAll(List.of(Stock.create("001", orderCount), Stock.create("002", orderCount)));
+    }
+
+    private void cleanUp() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+            .type(type)
+            .productNumber(productNumber)
+            .price(price)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build();
+    }
+}
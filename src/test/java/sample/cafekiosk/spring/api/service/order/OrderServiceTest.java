@@ -8,6 +8,7 @@ import static sample.cafekiosk.spring.domain.product.ProductType.BAKERY;
 import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
+import jakarta.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
@@ -19,7 +20,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
@@ -41,6 +44,10 @@ class OrderServiceTest extends IntegrationTestSupport {
     private OrderProductRepository orderProductRepository;
     @Autowired
     private StockRepository stockRepository;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    @Autowired
+    private EntityManager entityManager;
 
     @AfterEach
     void tearDown() {
@@ -48,6 +55,7 @@ class OrderServiceTest extends IntegrationTestSupport {
         productRepository.deleteAllInBatch();
         orderRepository.deleteAllInBatch();
         stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
     }
 
     @DisplayName("주문번호 리스트를 받아 주문을 생성한다.")
@@ -108,6 +116,30 @@ class OrderServiceTest extends IntegrationTestSupport {
             );
     }
 
+    @Test
+    @DisplayName("중복되는 상품번호는 하나의 주문 상품에 수량으로 저장된다.")
+    public void createOrderWithAggregatedOrderProducts() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001", "002", "001", "001"))
+            .build();
+        //when
+        orderService.createOrder(request, registeredDateTime);
+
+        //then
+        assertThat(orderProductRepository.findAll()).hasSize(2)
+            .extracting("product.productNumber", "quantity", "price")
+            .containsExactlyInAnyOrder(
+                tuple("001", 3, 1000),
+                tuple("002", 1, 3000)
+            );
+    }
+
     @Test
     @DisplayName("재고와 관련된 상품이 포함되어 있는 주문번호 리스트를 받아 주문을 생성한다.")
     public void createOrderWithStock() throws Exception {
@@ -142,6 +174,7 @@ class OrderServiceTest extends IntegrationTestSupport {
                 tuple("003", 5000)
             );
 
+        entityManager.clear(); //update 쿼리는 영속성 컨텍스트의 stock을 갱신하지 않는다
         List<Stock> stocks = stockRepository.findAll();
         assertThat(stocks).hasSize(2)
             .extracting("productNumber", "quantity")
@@ -178,6 +211,45 @@ class OrderServiceTest extends IntegrationTestSupport {
 
     }
 
+    @Test
+    @DisplayName("여러 주문을 한번에 등록하면 재고가 부족하거나 없는 상품이 포함된 주문만 실패한다.")
+    public void createOrders() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+        stockRepository.save(Stock.create("001", 2));
+
+        List<OrderCreateServiceRequest> requests = List.of(
+            OrderCreateServiceRequest.builder().productNumbers(List.of("001", "002")).build(),
+            OrderCreateServiceRequest.builder().productNumbers(List.of("001", "001")).build(),
+            OrderCreateServiceRequest.builder().productNumbers(List.of("002", "999")).build(),
+            OrderCreateServiceRequest.builder().productNumbers(List.of("001", "002")).build()
+        );
+
+        //when
+        OrderBatchResponse response = orderService.createOrders(requests, registeredDateTime);
+
+        //then
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(response.getFailureCount()).isEqualTo(2);
+        assertThat(response.getResults())
+            .extracting("index", "success", "message", "order.totalPrice")
+            .containsExactly(
+                tuple(0, true, null, 4000),
+                tuple(1, false, "재고가 부족한 상품이 있습니다.", null),
+                tuple(2, false, "존재하지 않는 상품이 포함되어 있습니다.", null),
+                tuple(3, true, null, 4000)
+            );
+        assertThat(orderRepository.findAll()).hasSize(2);
+
+        entityManager.clear();
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactly(tuple("001", 0));
+    }
+
     private Product createProduct(ProductType type, String productNumber, int price) {
         return Product.builder()
             .type(type)
@@ -1,6 +1,7 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -19,7 +20,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxDispatcher;
+import sample.cafekiosk.spring.api.service.order.response.DailySalesResponse;
+import sample.cafekiosk.spring.api.service.order.response.HourlySalesResponse;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
 import sample.cafekiosk.spring.domain.order.Order;
@@ -29,6 +35,8 @@ import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
 
 //TODO 메일전송에는 tx붙이지말자.
 class OrderStatisticsServiceTest extends IntegrationTestSupport {
@@ -48,12 +56,27 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
     @Autowired
     private MailSendHistoryRepository mailSendHistoryRepository;
 
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
     @AfterEach
     void tearDown() {
         orderProductRepository.deleteAllInBatch();
         orderRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
         mailSendHistoryRepository.deleteAllInBatch();
+        mailOutboxRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
 
     }
 
@@ -77,10 +100,13 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
         when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
             .thenReturn(true);
         //when
-        boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5),"test@test.com");
+        Long outboxId = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5),"test@test.com");
+        mailOutboxDispatcher.dispatch(LocalDateTime.now());
 
         //then
-        assertThat(result).isTrue();
+        assertThat(mailOutboxRepository.findById(outboxId)).get()
+            .extracting("status")
+            .isEqualTo(MailOutboxStatus.SENT);
 
         List<MailSendHistory> histories = mailSendHistoryRepository.findAll();
         assertThat(histories).hasSize(1)
@@ -89,6 +115,111 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
 
     }
 
+    @Test
+    @DisplayName("메일 전송이 실패해도 매출 통계 메일 요청은 성공하고, 메일은 outbox에 남아 재시도된다.")
+    public void sendOrderStatisticsMailWithMailFailure() throws Exception {
+        //given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        productRepository.save(product1);
+        createPaymentCompletedOrder(List.of(product1), LocalDateTime.of(2023, 3, 5, 10, 0));
+
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+            .thenThrow(new IllegalArgumentException("메일 전송"));
+
+        //when
+        Long outboxId = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxDispatcher.dispatch(LocalDateTime.now());
+
+        //then
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+        assertThat(mailOutboxRepository.findAll())
+            .extracting("id", "status", "attemptCount", "content")
+            .containsExactly(tuple(outboxId, MailOutboxStatus.PENDING, 1, "총 매출 합계는 1000원입니다."));
+    }
+
+    @Test
+    @DisplayName("주문이 저장될 때 갱신된 일별 집계로 주문 수와 상품별 매출을 조회한다.")
+    public void getDailySales() throws Exception {
+        //given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 2000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        createPaymentCompletedOrder(List.of(product1, product1, product2), LocalDateTime.of(2023, 3, 5, 10, 0));
+        createPaymentCompletedOrder(List.of(product2), LocalDateTime.of(2023, 3, 5, 23, 59, 59));
+        createPaymentCompletedOrder(List.of(product1), LocalDateTime.of(2023, 3, 6, 0, 0));
+
+        //when
+        DailySalesResponse response = orderStatisticsService.getDailySales(LocalDate.of(2023, 3, 5),
+            OrderStatus.PAYMENT_COMPLETED);
+
+        //then
+        assertThat(response.getOrderCount()).isEqualTo(2);
+        assertThat(response.getTotalAmount()).isEqualTo(6000);
+        assertThat(response.getProducts())
+            .extracting("productNumber", "quantity", "totalAmount")
+            .containsExactly(
+                tuple("001", 2L, 2000L),
+                tuple("002", 2L, 4000L)
+            );
+    }
+
+    @Test
+    @DisplayName("일별 집계가 없는 일자는 주문 테이블에서 DB 집계 쿼리로 매출을 계산한다.")
+    public void getDailySalesWithoutRollup() throws Exception {
+        //given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 2000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        createPaymentCompletedOrder(List.of(product1, product1, product2), LocalDateTime.of(2023, 3, 5, 10, 0));
+        createPaymentCompletedOrder(List.of(product2), LocalDateTime.of(2023, 3, 5, 23, 59, 59));
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+
+        //when
+        DailySalesResponse response = orderStatisticsService.getDailySales(LocalDate.of(2023, 3, 5),
+            OrderStatus.PAYMENT_COMPLETED);
+
+        //then
+        assertThat(response.getOrderCount()).isEqualTo(2);
+        assertThat(response.getTotalAmount()).isEqualTo(6000);
+        assertThat(response.getProducts())
+            .extracting("productNumber", "quantity", "totalAmount")
+            .containsExactly(
+                tuple("001", 2L, 2000L),
+                tuple("002", 2L, 4000L)
+            );
+    }
+
+    @Test
+    @DisplayName("결제 완료 주문들의 매출을 시간대별로 나누어 조회한다.")
+    public void getHourlySales() throws Exception {
+        //given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 2000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        createPaymentCompletedOrder(List.of(product1), LocalDateTime.of(2023, 3, 5, 9, 0));
+        createPaymentCompletedOrder(List.of(product2), LocalDateTime.of(2023, 3, 5, 9, 59, 59));
+        createPaymentCompletedOrder(List.of(product1, product2), LocalDateTime.of(2023, 3, 5, 23, 30));
+        createPaymentCompletedOrder(List.of(product1), LocalDateTime.of(2023, 3, 6, 0, 0));
+
+        //when
+        List<HourlySalesResponse> responses = orderStatisticsService.getHourlySales(LocalDate.of(2023, 3, 5),
+            OrderStatus.PAYMENT_COMPLETED);
+
+        //then
+        assertThat(responses).hasSize(24);
+        assertThat(responses)
+            .filteredOn(response -> response.getOrderCount() > 0)
+            .extracting("hour", "orderCount", "totalAmount")
+            .containsExactly(
+                tuple(9, 2L, 3000L),
+                tuple(23, 1L, 3000L)
+            );
+    }
+
     private Order createPaymentCompletedOrder(List<Product> products, LocalDateTime now) {
         Order order1 = Order.builder()
             .products(products)
@@ -0,0 +1,151 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+class OrderStatusServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    @Test
+    @DisplayName("여러 주문의 상태를 한번에 변경하고, 없는 주문이나 바꿀 수 없는 상태의 주문은 건너뛴다.")
+    public void changeOrderStatus() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        Long orderId1 = createOrder(registeredDateTime, "001").getId();
+        Long orderId2 = createOrder(registeredDateTime, "001").getId();
+        Long orderId3 = createOrder(registeredDateTime, "001").getId();
+        orderStatusService.changeOrderStatus(List.of(orderId3), OrderStatus.CANCELED, LocalDateTime.now());
+
+        //when
+        OrderStatusChangeResponse response = orderStatusService.changeOrderStatus(
+            List.of(orderId1, orderId2, orderId3, -1L), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.now());
+
+        //then
+        assertThat(response.getChangedOrderIds()).containsExactly(orderId1, orderId2);
+        assertThat(response.getSkippedOrderIds()).containsExactly(orderId3, -1L);
+        assertThat(orderRepository.findAll())
+            .extracting("id", "orderStatus")
+            .containsExactlyInAnyOrder(
+                tuple(orderId1, OrderStatus.PAYMENT_COMPLETED),
+                tuple(orderId2, OrderStatus.PAYMENT_COMPLETED),
+                tuple(orderId3, OrderStatus.CANCELED)
+            );
+    }
+
+    @Test
+    @DisplayName("주문을 취소하면 차감했던 재고를 되돌린다.")
+    public void changeOrderStatusToCanceled() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        productRepository.saveAll(List.of(createProduct(BOTTLE, "001", 1000), createProduct(HANDMADE, "002", 2000)));
+        stockRepository.save(Stock.create("001", 3));
+        Long orderId1 = createOrder(registeredDateTime, "001", "001", "002").getId();
+        createOrder(registeredDateTime, "001");
+
+        //when
+        orderStatusService.changeOrderStatus(List.of(orderId1), OrderStatus.CANCELED, LocalDateTime.now());
+
+        //then
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(2);
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactly(tuple("001", 2));
+    }
+
+    @Test
+    @DisplayName("결제 완료로 바뀐 주문만 일별 매출 집계에 반영되고, 접수 전(INIT) 주문은 집계하지 않는다.")
+    public void changeOrderStatusWithRollup() throws Exception {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        Long orderId1 = createOrder(registeredDateTime, "001").getId();
+        Long orderId2 = createOrder(registeredDateTime, "001", "001").getId();
+
+        //when
+        orderStatusService.changeOrderStatus(List.of(orderId1, orderId2), OrderStatus.PAYMENT_COMPLETED,
+            LocalDateTime.now());
+
+        //then
+        assertThat(dailyOrderSalesRepository.findAll())
+            .extracting("orderStatus", "orderCount", "totalAmount")
+            .containsExactly(
+                tuple(OrderStatus.PAYMENT_COMPLETED, 2L, 3000L)
+            );
+        assertThat(dailyProductSalesRepository.findAll())
+            .extracting("orderStatus", "productNumber", "quantity", "totalAmount")
+            .containsExactly(
+                tuple(OrderStatus.PAYMENT_COMPLETED, "001", 3L, 3000L)
+            );
+    }
+
+    private OrderResponse createOrder(LocalDateTime registeredDateTime, String... productNumbers) {
+        return orderService.createOrder(OrderCreateServiceRequest.builder()
+            .productNumbers(List.of(productNumbers))
+            .build(), registeredDateTime);
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+            .type(type)
+            .productNumber(productNumber)
+            .price(price)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build();
+    }
+}
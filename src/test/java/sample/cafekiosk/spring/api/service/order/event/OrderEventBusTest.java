@@ -0,0 +1,57 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderEventBusTest {
+
+    private final OrderEventBus orderEventBus = new OrderEventBus(new ObjectMapper(), 16, 2,
+        Duration.ofMinutes(1), 10, false);
+
+    @AfterEach
+    void tearDown() {
+        orderEventBus.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시에 구독해도 최대 구독자 수만큼만 구독된다.")
+    public void subscribeConcurrently() throws Exception {
+        //given
+        int requestCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger subscribed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    orderEventBus.subscribe(null);
+                    subscribed.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        assertThat(subscribed.get()).isEqualTo(10);
+        assertThat(rejected.get()).isEqualTo(90);
+        assertThat(orderEventBus.getSubscriberCount()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,96 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderEventRingBufferTest {
+
+    @Test
+    @DisplayName("버퍼 크기는 2의 거듭제곱으로 올려 잡는다.")
+    public void capacity() throws Exception {
+        //when
+        OrderEventRingBuffer ringBuffer = new OrderEventRingBuffer(100);
+
+        //then
+        assertThat(ringBuffer.getCapacity()).isEqualTo(128);
+    }
+
+    @Test
+    @DisplayName("cursor 이후에 발행된 이벤트를 sequence 순으로 읽는다.")
+    public void readAfter() throws Exception {
+        //given
+        OrderEventRingBuffer ringBuffer = new OrderEventRingBuffer(8);
+        ringBuffer.publish(1L, "order-1");
+        long cursor = ringBuffer.publish(2L, "order-2");
+        ringBuffer.publish(3L, "order-3");
+        ringBuffer.publish(4L, "order-4");
+
+        //when
+        OrderEventBatch batch = ringBuffer.readAfter(cursor);
+
+        //then
+        assertThat(batch.isLagged()).isFalse();
+        assertThat(batch.getNextCursor()).isEqualTo(4);
+        assertThat(batch.getEvents())
+            .extracting("sequence", "json")
+            .containsExactly(
+                tuple(3L, "order-3"),
+                tuple(4L, "order-4")
+            );
+    }
+
+    @Test
+    @DisplayName("밀린 이벤트 중 같은 주문의 이벤트는 마지막 상태 하나로 합쳐진다.")
+    public void readAfterWithCoalescing() throws Exception {
+        //given
+        OrderEventRingBuffer ringBuffer = new OrderEventRingBuffer(8);
+        ringBuffer.publish(1L, "order-1-INIT");
+        ringBuffer.publish(2L, "order-2-INIT");
+        ringBuffer.publish(1L, "order-1-PAYMENT_COMPLETED");
+
+        //when
+        OrderEventBatch batch = ringBuffer.readAfter(0);
+
+        //then
+        assertThat(batch.getEvents())
+            .extracting("json")
+            .containsExactly("order-2-INIT", "order-1-PAYMENT_COMPLETED");
+    }
+
+    @Test
+    @DisplayName("버퍼보다 많이 밀린 구독자는 남아 있는 이벤트만 읽고 놓친 이벤트가 있음을 알린다.")
+    public void readAfterWithLag() throws Exception {
+        //given
+        OrderEventRingBuffer ringBuffer = new OrderEventRingBuffer(4);
+        for (long orderId = 1; orderId <= 6; orderId++) {
+            ringBuffer.publish(orderId, "order-" + orderId);
+        }
+
+        //when
+        OrderEventBatch batch = ringBuffer.readAfter(0);
+
+        //then
+        assertThat(batch.isLagged()).isTrue();
+        assertThat(batch.getNextCursor()).isEqualTo(6);
+        assertThat(batch.getEvents())
+            .extracting("json")
+            .containsExactly("order-3", "order-4", "order-5", "order-6");
+    }
+
+    @Test
+    @DisplayName("새로 발행된 이벤트가 없으면 빈 묶음을 돌려준다.")
+    public void readAfterWithNoEvents() throws Exception {
+        //given
+        OrderEventRingBuffer ringBuffer = new OrderEventRingBuffer(4);
+        long cursor = ringBuffer.publish(1L, "order-1");
+
+        //when
+        OrderEventBatch batch = ringBuffer.readAfter(cursor);
+
+        //then
+        assertThat(batch.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductCatalog;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+class ProductCatalogCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final Supplier<List<ProductResponse>> loader = () -> {
+        loadCount.incrementAndGet();
+        return List.of(createProductResponse("001"), createProductResponse("002"));
+    };
+
+    @Test
+    @DisplayName("ttl 안에서는 같은 카탈로그를 돌려주고 다시 조회하지 않는다.")
+    public void cacheHit() throws Exception {
+        //given
+        ProductCatalogCache cache = createCache(Duration.ofMinutes(1), 10);
+        SellingProductCatalog first = cache.get(loader);
+
+        //when
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        SellingProductCatalog second = cache.get(loader);
+
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("ttl이 지나면 카탈로그를 다시 조회한다.")
+    public void expire() throws Exception {
+        //given
+        ProductCatalogCache cache = createCache(Duration.ofMinutes(1), 10);
+        cache.get(loader);
+
+        //when
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.get(loader);
+
+        //then
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("무효화하면 카탈로그를 다시 조회한다.")
+    public void invalidate() throws Exception {
+        //given
+        ProductCatalogCache cache = createCache(Duration.ofMinutes(1), 10);
+        cache.get(loader);
+
+        //when
+        cache.invalidate(new ProductCatalogChangedEvent("003"));
+        cache.get(loader);
+
+        //then
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("상품 수가 최대 크기를 넘으면 캐싱하지 않는다.")
+    public void exceedMaxSize() throws Exception {
+        //given
+        ProductCatalogCache cache = createCache(Duration.ofMinutes(1), 1);
+
+        //when
+        cache.get(loader);
+        cache.get(loader);
+
+        //then
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("카탈로그는 상품 목록을 미리 직렬화한 JSON 배열을 가진다.")
+    public void jsonBytes() throws Exception {
+        //given
+        ProductCatalogCache cache = createCache(Duration.ofMinutes(1), 10);
+
+        //when
+        SellingProductCatalog catalog = cache.get(loader);
+
+        //then
+        String json = new String(catalog.getJsonBytes(), StandardCharsets.UTF_8);
+        assertThat(json).startsWith("[").endsWith("]")
+            .contains("\"productNumber\":\"001\"", "\"productNumber\":\"002\"");
+        assertThat(catalog.getProducts()).hasSize(2);
+    }
+
+    private ProductCatalogCache createCache(Duration ttl, int maxSize) {
+        return new ProductCatalogCache(new ObjectMapper(), ttl, maxSize, now::get);
+    }
+
+    private ProductResponse createProductResponse(String productNumber) {
+        return ProductResponse.builder()
+            .productNumber(productNumber)
+            .type(ProductType.HANDMADE)
+            .sellingStatus(ProductSellingStatus.SELLING)
+            .name("메뉴 이름")
+            .price(4000)
+            .build();
+    }
+}
@@ -0,0 +1,156 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+class ProductNumberFactoryTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ProductNumberFactory productNumberFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNumberSequenceRepository.deleteAllInBatch();
+        productNumberFactory.reset();
+    }
+
+    @Test
+    @DisplayName("처음 발급하는 상품번호는 이미 저장된 가장 최근 상품번호 다음 번호다.")
+    public void createNextProductNumber() throws Exception {
+        //given
+        productRepository.save(Product.builder()
+            .productNumber("007")
+            .type(HANDMADE)
+            .sellingStatus(SELLING)
+            .name("아메리카노")
+            .price(4000)
+            .build());
+
+        //when
+        String first = productNumberFactory.createNextProductNumber();
+        String second = productNumberFactory.createNextProductNumber();
+
+        //then
+        assertThat(List.of(first, second)).containsExactly("008", "009");
+    }
+
+    @Test
+    @DisplayName("빌려온 번호 구간을 다 쓰면 다음 구간을 빌려 이어서 발급한다.")
+    public void createNextProductNumberOverBlock() throws Exception {
+        //given
+        ProductNumberFactory factory = new ProductNumberFactory(productRepository,
+            productNumberSequenceRepository, transactionManager, 3, 2);
+
+        //when
+        List<String> productNumbers = List.of(
+            factory.createNextProductNumber(),
+            factory.createNextProductNumber(),
+            factory.createNextProductNumber()
+        );
+
+        //then
+        assertThat(productNumbers).containsExactly("001", "002", "003");
+        assertThat(productNumberSequenceRepository.findNextValue(ProductNumberFactory.SEQUENCE_NAME))
+            .hasValue(5L);
+    }
+
+    @Test
+    @DisplayName("상품번호는 설정한 자릿수로 채우고, 자릿수를 넘으면 그대로 늘어난다.")
+    public void createNextProductNumberWithWidth() throws Exception {
+        //given
+        productRepository.save(Product.builder()
+            .productNumber("999")
+            .type(HANDMADE)
+            .sellingStatus(SELLING)
+            .name("아메리카노")
+            .price(4000)
+            .build());
+        ProductNumberFactory factory = new ProductNumberFactory(productRepository,
+            productNumberSequenceRepository, transactionManager, 5, 20);
+
+        //when
+        String productNumber = factory.createNextProductNumber();
+
+        //then
+        assertThat(productNumber).isEqualTo("01000");
+    }
+
+    @Test
+    @DisplayName("여러 노드가 동시에 상품번호를 발급해도 번호가 겹치지 않는다.")
+    public void createNextProductNumberConcurrently() throws Exception {
+        //given
+        int nodeCount = 4;
+        int requestCount = 200;
+        List<ProductNumberFactory> nodes = List.of(
+            createNode(), createNode(), createNode(), createNode());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+
+        //when
+        for (int i = 0; i < requestCount; i++) {
+            ProductNumberFactory node = nodes.get(i % nodeCount);
+            executorService.submit(() -> {
+                try {
+                    productNumbers.add(node.createNextProductNumber());
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        assertThat(productNumbers).hasSize(requestCount);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 상품번호를 발급할 수 없다.")
+    public void createNextProductNumberInTransaction() throws Exception {
+        //given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        //when //then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(
+            status -> productNumberFactory.createNextProductNumber()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("상품번호는 트랜잭션 밖에서 발급해야 합니다.");
+    }
+
+    private ProductNumberFactory createNode() {
+        return new ProductNumberFactory(productRepository, productNumberSequenceRepository,
+            transactionManager, 3, 5);
+    }
+}
@@ -1,8 +1,11 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
 import java.util.List;
@@ -15,8 +18,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.api.service.product.response.SellingProductCatalog;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
@@ -36,9 +43,21 @@ class ProductServiceTest extends IntegrationTestSupport {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private ProductNumberFactory productNumberFactory;
+
+    @Autowired
+    private ProductNumberSequenceRepository productNumberSequenceRepository;
+
     @AfterEach
     void tearDown() {
         productRepository.deleteAllInBatch();
+        productCatalogCache.invalidate();
+        productNumberSequenceRepository.deleteAllInBatch();
+        productNumberFactory.reset();
     }
 
     //TODO 동시성이슈 여러명이 상을 등록해버린다면? ->UUID의 활용을 통한 상품번호등록
@@ -93,6 +112,97 @@ class ProductServiceTest extends IntegrationTestSupport {
                 tuple("001", HANDMADE, SELLING, 5000, "카푸치노"));
     }
 
+    @Test
+    @DisplayName("판매 상품 카탈로그는 판매중, 판매보류 상품만 담고, 다시 조회하면 캐시된 카탈로그를 돌려준다.")
+    public void getSellingProductCatalog() throws Exception {
+        //given
+        productRepository.saveAll(List.of(
+            createProduct("001", HANDMADE, SELLING, "아메리카노", 4000),
+            createProduct("002", HANDMADE, HOLD, "카페라떼", 4500),
+            createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000)
+        ));
+
+        //when
+        SellingProductCatalog catalog = productService.getSellingProductCatalog();
+
+        //then
+        assertThat(catalog.getProducts()).hasSize(2)
+            .extracting("productNumber", "sellingStatus")
+            .containsExactlyInAnyOrder(
+                tuple("001", SELLING),
+                tuple("002", HOLD)
+            );
+        assertThat(productService.getSellingProductCatalog()).isSameAs(catalog);
+    }
+
+    @Test
+    @DisplayName("상품의 판매상태를 변경하면 판매 상품 카탈로그에 반영된다.")
+    public void changeSellingStatus() throws Exception {
+        //given
+        productRepository.saveAll(List.of(
+            createProduct("001", HANDMADE, SELLING, "아메리카노", 4000),
+            createProduct("002", HANDMADE, SELLING, "카페라떼", 4500)
+        ));
+        productService.getSellingProductCatalog();
+
+        //when
+        ProductResponse productResponse = productService.changeSellingStatus("002", STOP_SELLING);
+
+        //then
+        assertThat(productResponse)
+            .extracting("productNumber", "sellingStatus")
+            .contains("002", STOP_SELLING);
+        assertThat(productService.getSellingProductCatalog().getProducts())
+            .extracting("productNumber")
+            .containsExactly("001");
+    }
+
+    @Test
+    @DisplayName("판매상태 필터가 없으면 판매중, 판매보류 상품을 페이지 크기만큼 조회하고 다음 cursor를 돌려준다.")
+    public void getProducts() throws Exception {
+        //given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        Product product2 = createProduct("002", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+        Product product3 = createProduct("003", HANDMADE, HOLD, "카페라떼", 4500);
+        Product product4 = createProduct("004", HANDMADE, SELLING, "밀크티", 5000);
+        productRepository.saveAll(List.of(product1, product2, product3, product4));
+
+        ProductSearchServiceRequest request = ProductSearchServiceRequest.builder()
+            .size(2)
+            .build();
+
+        //when
+        ProductPageResponse firstPage = productService.getProducts(request);
+        ProductPageResponse secondPage = productService.getProducts(ProductSearchServiceRequest.builder()
+            .cursor(firstPage.getNextCursor())
+            .size(2)
+            .build());
+
+        //then
+        assertThat(firstPage.isHasNext()).isTrue();
+        assertThat(firstPage.getNextCursor()).isEqualTo(product3.getId());
+        assertThat(firstPage.getProducts())
+            .extracting("productNumber", "sellingStatus")
+            .containsExactly(
+                tuple("001", SELLING),
+                tuple("003", HOLD)
+            );
+        assertThat(secondPage.isHasNext()).isFalse();
+        assertThat(secondPage.getNextCursor()).isNull();
+        assertThat(secondPage.getProducts())
+            .extracting("productNumber")
+            .containsExactly("004");
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품의 판매상태를 변경하려는 경우 예외가 발생한다.")
+    public void changeSellingStatusWithUnknownProduct() throws Exception {
+        //when //then
+        assertThatThrownBy(() -> productService.changeSellingStatus("999", STOP_SELLING))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("존재하지 않는 상품입니다.");
+    }
+
     private Product createProduct(String productNumber, ProductType type,
         ProductSellingStatus sellingStatus, String name, int price) {
         Product product1 = Product.builder()
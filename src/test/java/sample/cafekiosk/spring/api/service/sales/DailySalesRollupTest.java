@@ -0,0 +1,102 @@
+package sample.cafekiosk.spring.api.service.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.order.OrderStatusChangedEvent;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+
+class DailySalesRollupTest extends IntegrationTestSupport {
+
+    @Autowired
+    private DailySalesRollup dailySalesRollup;
+
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        dailyProductSalesRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("같은 날짜와 상태의 첫 집계 row를 여러 트랜잭션이 동시에 만들어도 모두 커밋되고 빠짐없이 더해진다.")
+    public void createFirstRowConcurrently() throws Exception {
+        //given
+        int threadCount = 8;
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            long orderId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> dailySalesRollup.on(
+                        createEvent(orderId, registeredDateTime)));
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await(10, TimeUnit.SECONDS);
+        start.countDown();
+        done.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        assertThat(failures).isEmpty();
+        assertThat(dailyOrderSalesRepository.findAll())
+            .extracting("salesDate", "orderStatus", "orderCount", "totalAmount")
+            .containsExactly(tuple(LocalDate.of(2023, 3, 5), OrderStatus.PAYMENT_COMPLETED,
+                (long) threadCount, 1000L * threadCount));
+        assertThat(dailyProductSalesRepository.findAll())
+            .extracting("productNumber", "quantity", "totalAmount")
+            .containsExactly(tuple("001", (long) threadCount, 1000L * threadCount));
+    }
+
+    private OrderStatusChangedEvent createEvent(Long orderId, LocalDateTime registeredDateTime) {
+        return OrderStatusChangedEvent.builder()
+            .orderId(orderId)
+            .registeredDateTime(registeredDateTime)
+            .previousStatus(OrderStatus.INIT)
+            .orderStatus(OrderStatus.PAYMENT_COMPLETED)
+            .totalPrice(1000)
+            .lines(List.of(new OrderStatusChangedEvent.Line("001", 1, 1000)))
+            .build();
+    }
+}
@@ -0,0 +1,200 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderMetrics;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*하나의 인기 상품에 N개의 주문을 동시에 넣어 재고 차감 전략별 처리량/p99/재시도/초과판매를 비교
+ * ./gradlew benchmark -Pbenchmark.requests=2000 -Pbenchmark.threads=32 -Pbenchmark.stock=1000
+ * */
+@Tag("benchmark")
+class StockContentionBenchmarkTest extends IntegrationTestSupport {
+
+    private static final String HOT_PRODUCT_NUMBER = "001";
+
+    private final int requests = Integer.getInteger("benchmark.requests", 500);
+    private final int threads = Integer.getInteger("benchmark.threads", 16);
+    private final int stockQuantity = Integer.getInteger("benchmark.stock", 300);
+
+    @Autowired
+    private List<StockDeductionStrategy> strategies;
+    @Autowired
+    private OrderMetrics orderMetrics;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("재고 차감 전략별 경합 벤치마크")
+    public void compareStrategies() throws Exception {
+        productRepository.save(Product.builder()
+            .productNumber(HOT_PRODUCT_NUMBER)
+            .type(BOTTLE)
+            .sellingStatus(SELLING)
+            .name("인기 상품")
+            .price(1000)
+            .build());
+
+        List<Result> results = new ArrayList<>();
+        for (StockDeductionType type : StockDeductionType.values()) {
+            results.add(run(type));
+            cleanUp();
+        }
+
+        System.out.printf("%n[stock contention] requests=%d, threads=%d, stock=%d%n", requests,
+            threads, stockQuantity);
+        System.out.printf("%-20s %12s %10s %8s %8s %8s %8s %10s%n", "strategy", "ops/s", "p99(ms)",
+            "success", "reject", "error", "retry", "oversell");
+        results.forEach(Result::print);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.oversell).isZero());
+    }
+
+    private Result run(StockDeductionType type) throws InterruptedException {
+        //공유 context의 bean은 바꾸지 않고 전략마다 새로 조립한다 (@Transactional 대신 TransactionTemplate)
+        StockDeductor stockDeductor = new StockDeductor(strategies, stockReservationEngine, stockRepository, type);
+        OrderService orderService = new OrderService(productRepository, orderRepository, stockDeductor,
+            orderMetrics);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        stockRepository.save(Stock.create(HOT_PRODUCT_NUMBER, stockQuantity));
+        long retryBefore = stockDeductor.getStrategy().getRetryCount();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger reject = new AtomicInteger();
+        AtomicInteger error = new AtomicInteger();
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of(HOT_PRODUCT_NUMBER))
+            .build();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            executorService.submit(() -> {
+                try {
+                    ready.await();
+                    long start = System.nanoTime();
+                    try {
+                        transactionTemplate.execute(status -> orderService.createOrder(request, LocalDateTime.now()));
+                        success.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        reject.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        error.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - start;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        ready.countDown();
+        done.await(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+
+        int remaining = stockRepository.findAllByProductNumberIn(List.of(HOT_PRODUCT_NUMBER)).get(0)
+            .getQuantity();
+        int oversell = Math.max(success.get() - stockQuantity, 0)
+            + Math.max(-remaining, 0)
+            + Math.abs((stockQuantity - success.get()) - remaining);
+
+        Arrays.sort(latencies);
+        return new Result(type, requests * 1_000_000_000.0 / elapsed,
+            latencies[(int) Math.ceil(requests * 0.99) - 1] / 1_000_000.0,
+            success.get(), reject.get(), error.get(),
+            stockDeductor.getStrategy().getRetryCount() - retryBefore, oversell);
+    }
+
+    private void cleanUp() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    private static class Result {
+
+        private final StockDeductionType type;
+        private final double throughput;
+        private final double p99Millis;
+        private final int success;
+        private final int reject;
+        private final int error;
+        private final long retry;
+        private final int oversell;
+
+        private Result(StockDeductionType type, double throughput, double p99Millis, int success,
+            int reject, int error, long retry, int oversell) {
+            this.type = type;
+            this.throughput = throughput;
+            this.p99Millis = p99Millis;
+            this.success = success;
+            this.reject = reject;
+            this.error = error;
+            this.retry = retry;
+            this.oversell = oversell;
+        }
+
+        private void print() {
+            System.out.printf("%-20s %12.1f %10.2f %8d %8d %8d %8d %10d%n", type, throughput,
+                p99Millis, success, reject, error, retry, oversell);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@Transactional
+class StockDeductorTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockDeductor stockDeductor;
+
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(stockDeductor, "strategy",
+            stockDeductor.getStrategy(StockDeductionType.RESERVATION));
+        stockReservationEngine.clear();
+    }
+
+    @DisplayName("모든 재고 차감 전략은 상품번호별 수량만큼 재고를 차감한다.")
+    @ParameterizedTest
+    @EnumSource(StockDeductionType.class)
+    public void deduct(StockDeductionType type) throws Exception {
+        //given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 2)));
+
+        //when
+        stockDeductor.getStrategy(type).deduct(ProductQuantities.of(Map.of("001", 2, "002", 1)));
+        entityManager.clear(); //update 쿼리는 영속성 컨텍스트의 stock을 갱신하지 않는다
+
+        //then
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactlyInAnyOrder(
+                tuple("001", 0),
+                tuple("002", 1)
+            );
+    }
+
+    @DisplayName("모든 재고 차감 전략은 재고가 부족하면 예외가 발생한다.")
+    @ParameterizedTest
+    @EnumSource(StockDeductionType.class)
+    public void deductWithNoStock(StockDeductionType type) throws Exception {
+        //given
+        stockRepository.saveAll(List.of(Stock.create("001", 1)));
+
+        //when //then
+        assertThatThrownBy(() -> stockDeductor.getStrategy(type).deduct(ProductQuantities.of(Map.of("001", 2))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("재고가 부족한 상품이 있습니다.");
+    }
+
+    @DisplayName("모든 재고 차감 전략은 일부 상품의 재고가 부족하면 어떤 상품도 차감하지 않는다.")
+    @ParameterizedTest
+    @EnumSource(StockDeductionType.class)
+    public void deductWithPartialStock(StockDeductionType type) throws Exception {
+        //given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+
+        //when
+        assertThatThrownBy(() -> stockDeductor.getStrategy(type)
+            .deduct(ProductQuantities.of(Map.of("001", 1, "002", 2))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("재고가 부족한 상품이 있습니다.");
+        entityManager.flush();
+        entityManager.clear();
+
+        //then
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactlyInAnyOrder(
+                tuple("001", 2),
+                tuple("002", 1)
+            );
+    }
+
+    @DisplayName("여러 주문을 한번에 차감하면 설정된 전략으로 재고가 되는 주문만 순서대로 받아들이고 합계만큼 차감한다.")
+    @ParameterizedTest
+    @EnumSource(StockDeductionType.class)
+    public void deductAll(StockDeductionType type) throws Exception {
+        //given
+        ReflectionTestUtils.setField(stockDeductor, "strategy", stockDeductor.getStrategy(type));
+        stockRepository.saveAll(List.of(Stock.create("001", 3), Stock.create("002", 1)));
+
+        //when
+        boolean[] admitted = stockDeductor.deductAll(List.of(
+            ProductQuantities.of(Map.of("001", 2, "002", 1)),
+            ProductQuantities.of(Map.of("002", 1)),
+            ProductQuantities.of(Map.of("001", 1, "002", 1)),
+            ProductQuantities.of(Map.of("001", 2)),
+            ProductQuantities.of(Map.of("001", 1)),
+            ProductQuantities.of(Map.of("003", 1))
+        ));
+
+        entityManager.clear();
+
+        //then
+        assertThat(admitted).containsExactly(true, false, false, false, true, false);
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactlyInAnyOrder(
+                tuple("001", 0),
+                tuple("002", 0)
+            );
+    }
+}
@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+//test 프로필에서는 gauge bean이 꺼져 있으므로 직접 만든다
+class StockQuantityGaugeTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    @Test
+    @DisplayName("선점 카운터가 있는 상품은 카운터의 재고를, 없는 상품은 마지막으로 읽은 DB 재고를 보여준다.")
+    public void refresh() throws Exception {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StockQuantityGauge stockQuantityGauge = new StockQuantityGauge(stockRepository, stockReservationEngine,
+            meterRegistry);
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 3)));
+
+        //when
+        stockQuantityGauge.refresh();
+        stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 1)));
+
+        //then
+        assertThat(stockReservationEngine.hasCounter("001")).isTrue();
+        assertThat(stockReservationEngine.hasCounter("002")).isFalse();
+        assertThat(meterRegistry.get("cafekiosk.stock.quantity").tag("productNumber", "001").gauge().value())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("cafekiosk.stock.quantity").tag("productNumber", "002").gauge().value())
+            .isEqualTo(3);
+    }
+}
@@ -0,0 +1,186 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.ProductQuantities;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+class StockReservationEngineTest extends IntegrationTestSupport {
+
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+    }
+
+    @Test
+    @DisplayName("재고를 선점하면 메모리 재고가 차감되고, 확정하면 같은 트랜잭션에서 stock 테이블에 반영된다.")
+    public void reserveAndCommit() throws Exception {
+        //given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 2)));
+
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            StockReservation reservation = stockReservationEngine.reserve(
+                ProductQuantities.of(Map.of("001", 2, "002", 1)));
+            stockReservationEngine.commit(reservation);
+        });
+
+        //then
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isZero();
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isEqualTo(1);
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactlyInAnyOrder(
+                tuple("001", 0),
+                tuple("002", 1)
+            );
+    }
+
+    @Test
+    @DisplayName("재고가 부족한 상품이 하나라도 있으면 앞서 선점한 수량까지 되돌리고 예외가 발생한다.")
+    public void reserveWithNoStock() throws Exception {
+        //given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+
+        //when //then
+        assertThatThrownBy(() -> stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 1, "002", 2))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("재고가 부족한 상품이 있습니다.");
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(2);
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("선점을 해제하면 메모리 재고가 복원되고 stock 테이블은 변하지 않는다.")
+    public void release() throws Exception {
+        //given
+        stockRepository.save(Stock.create("001", 2));
+        StockReservation reservation = stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 2)));
+
+        //when
+        stockReservationEngine.release(reservation);
+
+        //then
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(2);
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactly(tuple("001", 2));
+    }
+
+    @Test
+    @DisplayName("동시에 여러 주문이 같은 상품을 선점해도 재고 이상으로 선점되지 않는다.")
+    public void reserveConcurrently() throws Exception {
+        //given
+        int stockQuantity = 50;
+        int threadCount = 100;
+        stockRepository.save(Stock.create("001", stockQuantity));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        Queue<StockReservation> reservations = new ConcurrentLinkedQueue<>();
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    reservations.add(stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 1))));
+                } catch (IllegalArgumentException ignored) {
+                    //재고 부족
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+            status -> reservations.forEach(stockReservationEngine::commit));
+
+        //then
+        assertThat(reservations).hasSize(stockQuantity);
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isZero();
+        assertThat(stockRepository.findAll())
+            .extracting("quantity")
+            .containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("확정한 트랜잭션이 롤백되면 stock 테이블은 그대로이고 메모리 재고도 되돌아간다.")
+    public void commitAndRollback() throws Exception {
+        //given
+        stockRepository.save(Stock.create("001", 2));
+
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            StockReservation reservation = stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 2)));
+            stockReservationEngine.commit(reservation);
+            //선점한 카운터가 버려져도 선점한 카운터에 되돌린다
+            stockReservationEngine.clear();
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactly(tuple("001", 2));
+        stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 1)));
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DB 재고가 메모리 재고보다 적으면 확정이 실패하고, 앞서 차감한 라인을 되돌린 뒤 카운터를 다시 읽는다.")
+    public void commitWithStaleCounter() throws Exception {
+        //given
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 2)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        StockReservation reservation = stockReservationEngine.reserve(ProductQuantities.of(Map.of("001", 1, "002", 2)));
+        //다른 노드에서 002를 차감했다
+        transactionTemplate.executeWithoutResult(status -> stockRepository.deductQuantity("002", 1));
+
+        //when //then
+        transactionTemplate.executeWithoutResult(status ->
+            assertThatThrownBy(() -> stockReservationEngine.commit(reservation))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다."));
+
+        assertThat(stockRepository.findAll())
+            .extracting("productNumber", "quantity")
+            .containsExactlyInAnyOrder(
+                tuple("001", 2),
+                tuple("002", 1)
+            );
+        assertThat(stockReservationEngine.getAvailableQuantity("001")).isEqualTo(2);
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isZero();
+        stockReservationEngine.reserve(ProductQuantities.of(Map.of("002", 1)));
+        assertThat(stockReservationEngine.getAvailableQuantity("002")).isZero();
+    }
+}
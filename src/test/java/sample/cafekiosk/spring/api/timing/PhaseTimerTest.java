@@ -0,0 +1,61 @@
+package sample.cafekiosk.spring.api.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.timing.PhaseTimer.Phase;
+
+class PhaseTimerTest {
+
+    @AfterEach
+    void tearDown() {
+        PhaseTimer.clear();
+    }
+
+    @Test
+    @DisplayName("기록한 단계만 기록 순서와 상관없이 정해진 순서로 Server-Timing 값을 만들고 마지막에 total을 붙인다.")
+    public void toServerTiming() throws Exception {
+        //given
+        PhaseTimer timer = PhaseTimer.start();
+
+        //when
+        PhaseTimer.record(Phase.MAPPING, System.nanoTime() - 250_000);
+        PhaseTimer.record(Phase.PRODUCTS, System.nanoTime() - 1_500_000);
+
+        //then
+        assertThat(timer.toServerTiming(System.nanoTime()))
+            .matches("products;dur=1\\.5\\d, mapping;dur=0\\.2\\d, total;dur=\\d+\\.\\d{2}");
+    }
+
+    @Test
+    @DisplayName("같은 단계를 여러번 기록하면 시간이 더해진다.")
+    public void recordSamePhase() throws Exception {
+        //given
+        PhaseTimer timer = PhaseTimer.start();
+
+        //when
+        PhaseTimer.record(Phase.PERSIST, System.nanoTime() - 1_000_000);
+        PhaseTimer.record(Phase.PERSIST, System.nanoTime() - 1_000_000);
+
+        //then
+        assertThat(timer.toMillis(System.nanoTime()))
+            .containsOnlyKeys("persist", "total")
+            .hasEntrySatisfying("persist", millis -> assertThat(millis).isBetween(2.0, 3.0));
+    }
+
+    @Test
+    @DisplayName("타이머가 시작되지 않은 스레드에서는 기록을 무시하고 현재 시각만 돌려준다.")
+    public void recordWithoutTimer() throws Exception {
+        //given
+        long startNanos = System.nanoTime();
+
+        //when
+        long now = PhaseTimer.record(Phase.STOCK, startNanos);
+
+        //then
+        assertThat(now).isGreaterThanOrEqualTo(startNanos);
+        assertThat(PhaseTimer.current()).isNull();
+    }
+}
@@ -0,0 +1,106 @@
+package sample.cafekiosk.spring.config.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderStatisticsService;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+class SqlStatementRecorderTest extends IntegrationTestSupport {
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Test
+    @DisplayName("구간 안에서 실행된 SQL을 종류별로 세고, batch는 한번의 실행과 batch에 담긴 문장 수로 센다.")
+    public void record() throws Exception {
+        //given
+        SqlStatistics statistics;
+
+        //when
+        try (SqlStatementRecorder.Scope scope = sqlStatementRecorder.start("test", "record")) {
+            jdbcTemplate.queryForObject("select count(*) from product", Integer.class);
+            jdbcTemplate.queryForObject("select count(*) from stock", Integer.class);
+            jdbcTemplate.update("update product set price = price where id < 0");
+            jdbcTemplate.batchUpdate("update product set price = price where id = ?",
+                List.of(new Object[]{1L}, new Object[]{2L}, new Object[]{3L}));
+            statistics = scope.getStatistics();
+        }
+
+        //then
+        assertThat(statistics.getSelectCount()).isEqualTo(2);
+        assertThat(statistics.getUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getStatementCount()).isEqualTo(4);
+        assertThat(statistics.getBatchCount()).isEqualTo(1);
+        assertThat(statistics.getBatchStatementCount()).isEqualTo(3);
+        assertThat(statistics.getRowCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("구간이 닫히면 구간의 SQL 수가 메트릭으로 기록된다.")
+    public void publishOnClose() throws Exception {
+        //when
+        try (SqlStatementRecorder.Scope ignored = sqlStatementRecorder.start("test", "publishOnClose")) {
+            jdbcTemplate.queryForObject("select count(*) from product", Integer.class);
+        }
+
+        //then
+        assertThat(meterRegistry.get("cafekiosk.sql.statements")
+            .tags("kind", "test", "name", "publishOnClose", "type", "select")
+            .summary()
+            .totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cafekiosk.sql.time")
+            .tags("kind", "test", "name", "publishOnClose")
+            .timer()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("구간이 중첩되면 바깥 구간도 안쪽 구간의 SQL을 함께 센다.")
+    public void nestedScope() throws Exception {
+        //when
+        try (SqlStatementRecorder.Scope outer = sqlStatementRecorder.start("test", "outer")) {
+            jdbcTemplate.queryForObject("select count(*) from product", Integer.class);
+            try (SqlStatementRecorder.Scope inner = sqlStatementRecorder.start("test", "inner")) {
+                jdbcTemplate.queryForObject("select count(*) from product", Integer.class);
+
+                //then
+                assertThat(inner.getStatistics().getSelectCount()).isEqualTo(1);
+            }
+            assertThat(outer.getStatistics().getSelectCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("@SqlMonitored 서비스 메서드는 실행마다 메서드 이름으로 SQL 수를 기록한다.")
+    public void sqlMonitored() throws Exception {
+        //given
+        startSqlCount();
+
+        //when 일별 집계가 없는 일자 -> 집계 조회 + 매출 합계 + 상품별 매출
+        orderStatisticsService.getDailySales(LocalDate.of(2023, 3, 5), OrderStatus.PAYMENT_COMPLETED);
+
+        //then
+        assertSelectCount(3);
+        assertThat(meterRegistry.get("cafekiosk.sql.statements")
+            .tags("kind", "service", "name", "OrderStatisticsService.getDailySales", "type", "select")
+            .summary()
+            .count()).isPositive();
+    }
+}
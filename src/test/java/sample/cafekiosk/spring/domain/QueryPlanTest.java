@@ -0,0 +1,187 @@
+package sample.cafekiosk.spring.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSearchCondition;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/*조회 쿼리가 인덱스를 타는지 H2 실행 계획(EXPLAIN)으로 확인
+ * repository 메서드를 실제로 호출해 Hibernate가 만든 SQL과 파라미터를 datasource-proxy listener로 받아 EXPLAIN 한다.
+ * JPA 매핑으로 만든 스키마(test 프로필 ddl-auto)와 flyway migration으로 만든 스키마 양쪽을 검사해
+ * 매핑의 @Table 인덱스와 migration이 어긋나지 않게 한다.
+ * */
+class QueryPlanTest extends IntegrationTestSupport {
+
+    private static JdbcTemplate migratedSchema;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource migratedDataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:queryPlanMigration;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+            .dataSource(migratedDataSource)
+            .load()
+            .migrate();
+        migratedSchema = new JdbcTemplate(migratedDataSource);
+    }
+
+    private static Stream<Arguments> provideQueries() {
+        LocalDateTime startDateTime = LocalDateTime.of(2023, 3, 5, 0, 0);
+        return Stream.of(
+            Arguments.of("ProductRepository.findAllByProductNumberIn",
+                (Consumer<QueryPlanTest>) test -> test.productRepository.findAllByProductNumberIn(
+                    List.of("001", "002")),
+                "uk_product_product_number"),
+            Arguments.of("ProductRepository.findByProductNumber",
+                (Consumer<QueryPlanTest>) test -> test.productRepository.findByProductNumber("001"),
+                "uk_product_product_number"),
+            Arguments.of("ProductRepository.findAllBySellingStatusIn",
+                (Consumer<QueryPlanTest>) test -> test.productRepository.findAllBySellingStatusIn(
+                    ProductSellingStatus.forDisplay()),
+                "idx_product_selling_status_id"),
+            Arguments.of("ProductRepository.findSummariesAfter",
+                (Consumer<QueryPlanTest>) test -> test.productRepository.findSummariesAfter(
+                    ProductSearchCondition.builder()
+                        .sellingStatuses(List.of(ProductSellingStatus.SELLING))
+                        .build(), 10L, 20),
+                "idx_product_selling_status_id"),
+            Arguments.of("StockRepository.findAllByProductNumberIn",
+                (Consumer<QueryPlanTest>) test -> test.stockRepository.findAllByProductNumberIn(
+                    List.of("001", "002")),
+                "uk_stock_product_number"),
+            Arguments.of("OrderRepository.findOrdersBy",
+                (Consumer<QueryPlanTest>) test -> test.orderRepository.findOrdersBy(
+                    startDateTime, startDateTime.plusDays(1), OrderStatus.PAYMENT_COMPLETED),
+                "idx_orders_status_registered_date_time"),
+            Arguments.of("OrderRepository.sumOrdersBy",
+                (Consumer<QueryPlanTest>) test -> test.orderRepository.sumOrdersBy(
+                    startDateTime, startDateTime.plusDays(1), OrderStatus.PAYMENT_COMPLETED),
+                "idx_orders_status_registered_date_time"),
+            Arguments.of("OrderRepository.findIdsBefore",
+                (Consumer<QueryPlanTest>) test -> test.orderRepository.findIdsBefore(
+                    startDateTime, 100L, PageRequest.of(0, 21)),
+                "idx_orders_registered_date_time_id"),
+            Arguments.of("MailOutboxRepository.findDispatchableIds",
+                (Consumer<QueryPlanTest>) test -> test.mailOutboxRepository.findDispatchableIds(
+                    MailOutboxStatus.PENDING, startDateTime, PageRequest.of(0, 50)),
+                "idx_mail_outbox_status_next_attempt_date_time")
+        );
+    }
+
+    @DisplayName("조회 쿼리는 선언한 인덱스로 실행된다.")
+    @MethodSource("provideQueries")
+    @ParameterizedTest(name = "{0}")
+    public void useIndex(String repositoryMethod, Consumer<QueryPlanTest> query, String indexName)
+        throws Exception {
+        //given
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions(); //캐시 hit이면 SQL이 나가지 않는다
+        CapturedQuery captured = capture(query);
+
+        //when
+        String mappedPlan = explain(new JdbcTemplate(dataSource), captured);
+        String migratedPlan = explain(migratedSchema, captured);
+
+        //then
+        assertThat(mappedPlan).as(captured.sql).containsIgnoringCase(indexName);
+        assertThat(migratedPlan).as(captured.sql).containsIgnoringCase(indexName);
+    }
+
+    private CapturedQuery capture(Consumer<QueryPlanTest> query) {
+        List<CapturedQuery> queries = new ArrayList<>();
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                queryInfoList.forEach(queryInfo -> queries.add(CapturedQuery.of(queryInfo)));
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+        };
+
+        List<QueryExecutionListener> listeners = ((ProxyDataSource) dataSource).getProxyConfig()
+            .getQueryListener().getListeners();
+        listeners.add(listener);
+        try {
+            query.accept(this);
+        } finally {
+            listeners.remove(listener);
+        }
+
+        assertThat(queries).as("repository 메서드는 select 한번만 실행해야 합니다.").hasSize(1);
+        return queries.get(0);
+    }
+
+    private String explain(JdbcTemplate jdbcTemplate, CapturedQuery captured) {
+        return jdbcTemplate.queryForObject("explain " + captured.sql, String.class, captured.parameters);
+    }
+
+    private static class CapturedQuery {
+
+        private final String sql;
+        private final Object[] parameters;
+
+        private CapturedQuery(String sql, Object[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        //batch가 아닌 조회는 파라미터 묶음이 하나뿐이다 (args = [index, value])
+        private static CapturedQuery of(QueryInfo queryInfo) {
+            List<ParameterSetOperation> operations = queryInfo.getParametersList().isEmpty()
+                ? List.of()
+                : queryInfo.getParametersList().get(0);
+            Object[] parameters = operations.stream()
+                .sorted(Comparator.comparing(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> operation.getArgs()[1])
+                .collect(Collectors.toList())
+                .toArray();
+            return new CapturedQuery(queryInfo.getQuery(), parameters);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+
+/*운영과 같이 flyway migration으로 스키마를 만들고 hibernate validate로 기동한다
+ * 매핑과 migration이 어긋나면 context가 뜨지 않아 실패한다.
+ * */
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:schemaValidation;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaValidationTest extends IntegrationTestSupport {
+
+    @Autowired
+    private Flyway flyway;
+
+    @DisplayName("flyway migration으로 만든 스키마는 JPA 매핑과 일치한다.")
+    @Test
+    public void validateMigratedSchema() throws Exception {
+        //when //then
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied()).isNotEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package sample.cafekiosk.spring.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+@Transactional
+class OrderRepositoryTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DisplayName("주문 상품이 많아도 주문과 주문 상품은 테이블별로 한번의 JDBC batch로 insert 된다.")
+    @Test
+    public void saveWithBatchInsert() throws Exception {
+        //given
+        List<Product> products = IntStream.rangeClosed(1, 20)
+            .mapToObj(i -> createProduct(String.format("%03d", i), 1000))
+            .collect(Collectors.toList());
+        productRepository.saveAll(products);
+
+        //시퀀스 구간을 미리 할당받도록 한번 저장
+        orderRepository.save(Order.create(products, LocalDateTime.now()));
+        entityManager.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        orderRepository.save(Order.create(products, LocalDateTime.now()));
+        entityManager.flush();
+
+        //then insert into orders 1번 + insert into order_product 1번 (20건 batch)
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(21);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("기간과 주문상태로 주문 수와 매출 합계를 DB에서 계산한다.")
+    @Test
+    public void sumOrdersBy() throws Exception {
+        //given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 2000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        orderRepository.saveAll(List.of(
+            createOrder(List.of(product1, product2), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 5, 0, 0)),
+            createOrder(List.of(product2), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 5, 23, 59, 59)),
+            createOrder(List.of(product1), OrderStatus.INIT, LocalDateTime.of(2023, 3, 5, 12, 0)),
+            createOrder(List.of(product1), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 6, 0, 0))
+        ));
+
+        //when
+        OrderSalesTotal total = orderRepository.sumOrdersBy(LocalDateTime.of(2023, 3, 5, 0, 0),
+            LocalDateTime.of(2023, 3, 6, 0, 0), OrderStatus.PAYMENT_COMPLETED);
+
+        //then
+        assertThat(total.getOrderCount()).isEqualTo(2);
+        assertThat(total.getTotalAmount()).isEqualTo(5000);
+    }
+
+    @DisplayName("해당하는 주문이 없으면 주문 수와 매출 합계는 0이다.")
+    @Test
+    public void sumOrdersByWithNoOrders() throws Exception {
+        //when
+        OrderSalesTotal total = orderRepository.sumOrdersBy(LocalDateTime.of(2023, 3, 5, 0, 0),
+            LocalDateTime.of(2023, 3, 6, 0, 0), OrderStatus.PAYMENT_COMPLETED);
+
+        //then
+        assertThat(total.getOrderCount()).isZero();
+        assertThat(total.getTotalAmount()).isZero();
+    }
+
+    @DisplayName("기간과 주문상태에 해당하는 주문을 projection으로 스트리밍 조회한다.")
+    @Test
+    public void streamOrdersBy() throws Exception {
+        //given
+        Product product1 = createProduct("001", 1000);
+        productRepository.save(product1);
+
+        orderRepository.saveAll(List.of(
+            createOrder(List.of(product1), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 5, 9, 0)),
+            createOrder(List.of(product1, product1), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 3, 5, 10, 30)),
+            createOrder(List.of(product1), OrderStatus.INIT, LocalDateTime.of(2023, 3, 5, 11, 0))
+        ));
+
+        //when
+        List<OrderSummary> summaries;
+        try (Stream<OrderSummary> orders = orderRepository.streamOrdersBy(LocalDateTime.of(2023, 3, 5, 0, 0),
+            LocalDateTime.of(2023, 3, 6, 0, 0), OrderStatus.PAYMENT_COMPLETED)) {
+            summaries = orders.collect(Collectors.toList());
+        }
+
+        //then
+        assertThat(summaries)
+            .extracting("totalPrice", "registeredDateTime")
+            .containsExactlyInAnyOrder(
+                tuple(1000, LocalDateTime.of(2023, 3, 5, 9, 0)),
+                tuple(2000, LocalDateTime.of(2023, 3, 5, 10, 30))
+            );
+    }
+
+    private Order createOrder(List<Product> products, OrderStatus orderStatus,
+        LocalDateTime registeredDateTime) {
+        return Order.builder()
+            .products(products)
+            .orderStatus(orderStatus)
+            .registeredDateTime(registeredDateTime)
+            .build();
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+            .type(HANDMADE)
+            .productNumber(productNumber)
+            .price(price)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build();
+    }
+}
@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class OrderStatusTest {
+
+    @DisplayName("주문 상태는 정해진 전이 규칙으로만 변경할 수 있다.")
+    @CsvSource({
+        "INIT,PAYMENT_COMPLETED,true",
+        "INIT,PAYMENT_FAILED,true",
+        "INIT,CANCELED,true",
+        "INIT,RECEIVED,false",
+        "PAYMENT_COMPLETED,RECEIVED,true",
+        "PAYMENT_COMPLETED,CANCELED,true",
+        "PAYMENT_COMPLETED,PAYMENT_FAILED,false",
+        "RECEIVED,COMPLETED,true",
+        "RECEIVED,CANCELED,false",
+        "COMPLETED,CANCELED,false",
+        "CANCELED,INIT,false"
+    })
+    @ParameterizedTest
+    public void canChangeTo(OrderStatus currentStatus, OrderStatus orderStatus, boolean expected) throws Exception {
+        //when
+        boolean result = currentStatus.canChangeTo(orderStatus);
+
+        //then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @DisplayName("취소와 결제 실패는 차감한 재고를 되돌리는 상태이다.")
+    @CsvSource({"CANCELED,true", "PAYMENT_FAILED,true", "RECEIVED,false", "COMPLETED,false"})
+    @ParameterizedTest
+    public void isStockRestored(OrderStatus orderStatus, boolean expected) throws Exception {
+        //when
+        boolean result = orderStatus.isStockRestored();
+
+        //then
+        assertThat(result).isEqualTo(expected);
+    }
+}
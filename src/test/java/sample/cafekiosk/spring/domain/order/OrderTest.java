@@ -1,6 +1,7 @@
 package sample.cafekiosk.spring.domain.order;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 
 import java.time.LocalDateTime;
@@ -62,6 +63,27 @@ class OrderTest {
         assertThat(order.getRegisteredDateTime()).isEqualTo(registeredDateTime);
     }
 
+    @Test
+    @DisplayName("같은 상품을 여러개 주문하면 하나의 주문 라인에 수량과 단가를 담는다.")
+    public void orderProductsWithQuantity() {
+        //given
+        Product americano = createProduct("001", 1000);
+        Product latte = createProduct("002", 2000);
+        List<Product> products = List.of(americano, americano, latte, americano);
+
+        //when
+        Order order = Order.create(products, LocalDateTime.now());
+
+        //then
+        assertThat(order.getTotalPrice()).isEqualTo(5000);
+        assertThat(order.getOrderProducts()).hasSize(2)
+            .extracting("product.productNumber", "quantity", "price", "totalPrice")
+            .containsExactly(
+                tuple("001", 3, 1000, 3000),
+                tuple("002", 1, 2000, 2000)
+            );
+    }
+
     private Product createProduct(String productNumber, int price) {
         return Product.builder()
             .type(ProductType.HANDMADE)
@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.domain.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductQuantitiesTest {
+
+    @Test
+    @DisplayName("같은 상품번호의 수량은 더하고, 상품번호 순으로 순회한다.")
+    public void add() throws Exception {
+        //given
+        ProductQuantities quantities = new ProductQuantities(2);
+
+        //when
+        quantities.add("003", 1);
+        quantities.add("001", 1);
+        quantities.add("003", 2);
+        quantities.add("002", 1);
+
+        //then
+        List<String> productNumbers = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        quantities.forEach((productNumber, quantity) -> {
+            productNumbers.add(productNumber);
+            counts.add(quantity);
+        });
+        assertThat(quantities.size()).isEqualTo(3);
+        assertThat(productNumbers).containsExactly("001", "002", "003");
+        assertThat(counts).containsExactly(1, 1, 3);
+        assertThat(quantities.getProductNumbers()).containsExactly("001", "002", "003");
+    }
+
+    @Test
+    @DisplayName("담기지 않은 상품번호의 수량은 0이다.")
+    public void getWithUnknownProductNumber() throws Exception {
+        //given
+        ProductQuantities quantities = new ProductQuantities();
+        quantities.add("001", 2);
+
+        //when //then
+        assertThat(quantities.get("001")).isEqualTo(2);
+        assertThat(quantities.get("002")).isZero();
+        assertThat(quantities.contains("002")).isFalse();
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.tuple;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
 import java.util.List;
@@ -68,6 +69,44 @@ class ProductRepositoryTest extends IntegrationTestSupport {
             );
     }
 
+    @DisplayName("상품번호(natural id)로 상품들을 전달한 순서대로 가져오고, 없는 상품번호 자리는 null이다.")
+    @Test
+    public void findAllByProductNumbers() throws Exception {
+        //given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+        productRepository.saveAll(List.of(product1, product2));
+
+        //when
+        List<Product> products = productRepository.findAllByProductNumbers(List.of("002", "999", "001", "002"));
+
+        //then
+        assertThat(products).hasSize(4);
+        assertThat(products.get(1)).isNull();
+        assertThat(products).filteredOn(product -> product != null)
+            .extracting("productNumber", "name")
+            .containsExactly(
+                tuple("002", "카페라떼"),
+                tuple("001", "아메리카노"),
+                tuple("002", "카페라떼")
+            );
+    }
+
+    @DisplayName("영속성 컨텍스트에 있는 상품은 상품번호로 조회해도 같은 인스턴스를 돌려준다.")
+    @Test
+    public void findAllByProductNumbersInPersistenceContext() throws Exception {
+        //given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        productRepository.save(product1);
+
+        //when
+        List<Product> products = productRepository.findAllByProductNumbers(List.of("001"));
+
+        //then
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0)).isSameAs(product1);
+    }
+
     @DisplayName("가장 마지막으로 저장된 상품의 상품번호를 읽어온다.")
     @Test
     public void findLatestProductNumber() throws Exception {
@@ -97,6 +136,67 @@ class ProductRepositoryTest extends IntegrationTestSupport {
         assertThat(latestProductNumber).isNull();
     }
 
+    @DisplayName("필터에 맞는 상품을 id 순으로, 마지막으로 읽은 id 다음부터 limit개 가져온다.")
+    @Test
+    public void findSummariesAfter() throws Exception {
+        //given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        Product product2 = createProduct("002", BOTTLE, SELLING, "탄산수", 2000);
+        Product product3 = createProduct("003", HANDMADE, HOLD, "카페라떼", 4500);
+        Product product4 = createProduct("004", HANDMADE, SELLING, "바닐라라떼", 5000);
+        Product product5 = createProduct("005", HANDMADE, SELLING, "밀크티", 6000);
+        productRepository.saveAll(List.of(product1, product2, product3, product4, product5));
+
+        ProductSearchCondition condition = ProductSearchCondition.builder()
+            .types(List.of(HANDMADE))
+            .sellingStatuses(List.of(SELLING))
+            .minPrice(4000)
+            .maxPrice(5500)
+            .build();
+
+        //when
+        List<ProductSummary> firstPage = productRepository.findSummariesAfter(condition, null, 1);
+        List<ProductSummary> secondPage = productRepository.findSummariesAfter(condition,
+            firstPage.get(0).getId(), 2);
+
+        //then
+        assertThat(firstPage)
+            .extracting("productNumber", "name", "price")
+            .containsExactly(tuple("001", "아메리카노", 4000));
+        assertThat(secondPage)
+            .extracting("productNumber", "name", "price")
+            .containsExactly(tuple("004", "바닐라라떼", 5000));
+    }
+
+    @DisplayName("여러 판매상태로 조회하면 상태별로 읽은 상품을 id 순으로 합쳐 limit개 가져온다.")
+    @Test
+    public void findSummariesAfterWithSellingStatuses() throws Exception {
+        //given
+        Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+        Product product2 = createProduct("002", HANDMADE, HOLD, "카페라떼", 4500);
+        Product product3 = createProduct("003", HANDMADE, STOP_SELLING, "팥빙수", 7000);
+        Product product4 = createProduct("004", HANDMADE, SELLING, "바닐라라떼", 5000);
+        Product product5 = createProduct("005", BOTTLE, HOLD, "탄산수", 2000);
+        productRepository.saveAll(List.of(product1, product2, product3, product4, product5));
+
+        ProductSearchCondition condition = ProductSearchCondition.builder()
+            .sellingStatuses(List.of(SELLING, HOLD))
+            .build();
+
+        //when
+        List<ProductSummary> firstPage = productRepository.findSummariesAfter(condition, null, 2);
+        List<ProductSummary> secondPage = productRepository.findSummariesAfter(condition,
+            firstPage.get(1).getId(), 2);
+
+        //then
+        assertThat(firstPage)
+            .extracting("productNumber")
+            .containsExactly("001", "002");
+        assertThat(secondPage)
+            .extracting("productNumber")
+            .containsExactly("004", "005");
+    }
+
     private Product createProduct(String productNumber, ProductType type,
         ProductSellingStatus sellingStatus, String name, int price) {
         Product product1 = Product.builder()
@@ -0,0 +1,187 @@
+package sample.cafekiosk.spring.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.stock.StockReservationEngine;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyOrderSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+//커밋 이후에 남는 이벤트를 보기 위해 트랜잭션 없이 실행
+class OrderPipelineJfrEventTest extends IntegrationTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private DailyOrderSalesRepository dailyOrderSalesRepository;
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private StockReservationEngine stockReservationEngine;
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        dailyProductSalesRepository.deleteAllInBatch();
+        dailyOrderSalesRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        stockReservationEngine.clear();
+        productCatalogCache.invalidate();
+    }
+
+    @DisplayName("주문 생성과 재고 차감, 카탈로그 로딩이 결과와 함께 JFR 이벤트로 기록된다.")
+    @Test
+    public void recordOrderPipelineEvents() throws Exception {
+        //given
+        productRepository.saveAll(List.of(
+            createProduct(BOTTLE, "001", 1000),
+            createProduct(HANDMADE, "002", 3000)
+        ));
+        stockRepository.save(Stock.create("001", 1));
+        productCatalogCache.invalidate();
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("001", "002"))
+            .build();
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderCreationJfrEvent.class);
+            recording.enable(StockDeductionJfrEvent.class);
+            recording.enable(CatalogLoadJfrEvent.class);
+            recording.start();
+
+            //when
+            orderService.createOrder(request, LocalDateTime.now());
+            assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+            productService.getSellingProductCatalog();
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        //then
+        assertThat(filter(events, "cafekiosk.OrderCreation"))
+            .extracting(event -> event.getInt("lineCount"), event -> event.getString("outcome"))
+            .containsExactly(
+                tuple(2, OrderCreationJfrEvent.COMMITTED),
+                tuple(2, OrderCreationJfrEvent.ROLLED_BACK)
+            );
+        assertThat(filter(events, "cafekiosk.StockDeduction"))
+            .extracting(event -> event.getString("strategy"), event -> event.getString("quantities"),
+                event -> event.getString("outcome"))
+            .containsExactly(
+                tuple("RESERVATION", "{001=1}", StockDeductionJfrEvent.DEDUCTED),
+                tuple("RESERVATION", "{001=1}", StockDeductionJfrEvent.REJECTED)
+            );
+        assertThat(filter(events, "cafekiosk.CatalogLoad"))
+            .extracting(event -> event.getInt("productCount"), event -> event.getBoolean("cached"))
+            .containsExactly(tuple(2, true));
+    }
+
+    @DisplayName("바깥 트랜잭션에 참여한 주문 생성은 바깥 트랜잭션이 롤백되면 롤백으로 기록된다.")
+    @Test
+    public void recordOrderCreationJoiningRolledBackTransaction() throws Exception {
+        //given
+        productRepository.save(createProduct(HANDMADE, "002", 3000));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+            .productNumbers(List.of("002"))
+            .build();
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderCreationJfrEvent.class);
+            recording.start();
+
+            //when
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                orderService.createOrder(request, LocalDateTime.now());
+                status.setRollbackOnly();
+            });
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        //then
+        assertThat(filter(events, "cafekiosk.OrderCreation"))
+            .extracting(event -> event.getInt("lineCount"), event -> event.getString("outcome"))
+            .containsExactly(tuple(1, OrderCreationJfrEvent.ROLLED_BACK));
+        assertThat(orderRepository.findAll()).isEmpty();
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws Exception {
+        Path file = Files.createTempFile("cafekiosk", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    //이벤트 시작 시각 순
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+            .collect(Collectors.toList());
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+            .type(type)
+            .productNumber(productNumber)
+            .price(price)
+            .sellingStatus(SELLING)
+            .name("메뉴 이름")
+            .build();
+    }
+}